@@ -0,0 +1,208 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.utils.SourceRoot;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of each phase of the generator, over the synthetic corpus of interfaces in the {@code corpus} test
+ * resources.</p>
+ *
+ * <p>
+ *     Each phase is measured on the output of the previous ones, prepared once per trial: source parsing, interface
+ *     resolution, model building, import resolution, template rendering, and finally a whole {@link Generator} run.
+ *     Run them with {@code mvn -Pjmh test-compile exec:exec}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeneratorBenchmark {
+
+    private static final List<String> PACKAGES = Arrays.asList("com.acme.api", "com.acme.catalog", "com.acme.invoice");
+
+    private Path work;
+    private Configuration configuration;
+    private Dependencies dependencies;
+    private Symbols symbols;
+    private List<ResolvedReferenceTypeDeclaration> declarations;
+    private List<Implementation> implementations;
+
+    /**
+     * Interfaces freshly parsed by a new {@link Solver} before each invocation, so that resolution does not benefit
+     * from the caches of a previous invocation.
+     */
+    @State(Scope.Thread)
+    public static class Parsed {
+        private List<ClassOrInterfaceDeclaration> interfaces;
+
+        @Setup(Level.Invocation)
+        public void setup(GeneratorBenchmark benchmark) throws Exception {
+            this.interfaces = benchmark.interfaces(benchmark.parse(benchmark.newSolver()));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-benchmark");
+        File corpus = new File(GeneratorBenchmark.class.getResource("/corpus").toURI());
+        File output = this.work.resolve("output").toFile();
+        FileUtils.forceMkdir(output);
+
+        Settings settings = new Settings();
+        settings.setSources(Collections.singletonList(corpus));
+        settings.setDependencyDirectories(new ArrayList<File>());
+        settings.setDependencyIndex(this.work.resolve("dependencies.idx").toFile());
+        settings.setPackages(PACKAGES);
+        settings.setComparables(Collections.singletonList("java.math.BigDecimal"));
+        settings.setOutput(output);
+        settings.setSubpackage("boilerplate");
+        settings.setSuffix("Imp");
+        settings.setResolver("Resolver");
+        settings.setModule("Module");
+
+        Templates templates = Templates.shared(StandardCharsets.UTF_8, Resources.class, "/templates");
+        this.configuration = new Configuration(StandardCharsets.UTF_8, templates, settings);
+        this.dependencies = Dependencies.create(this.configuration);
+        this.symbols = Symbols.java();
+
+        this.declarations = new ArrayList<ResolvedReferenceTypeDeclaration>();
+        for (ClassOrInterfaceDeclaration ast : interfaces(parse(newSolver()))) {
+            this.declarations.add(ast.resolve());
+        }
+        this.implementations = new ArrayList<Implementation>();
+        for (ResolvedReferenceTypeDeclaration declaration : this.declarations) {
+            this.implementations.add(implement(declaration));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(this.work.toFile());
+    }
+
+    private Solver newSolver() {
+        return Solver.create(this.configuration, this.dependencies);
+    }
+
+    private List<ParseResult<CompilationUnit>> parse(Solver solver) throws Exception {
+        ArrayList<ParseResult<CompilationUnit>> results = new ArrayList<ParseResult<CompilationUnit>>();
+        for (File source : solver.getSources()) {
+            results.addAll(new SourceRoot(source.toPath(), solver.getParserConfiguration()).tryToParse());
+        }
+        return results;
+    }
+
+    private List<ClassOrInterfaceDeclaration> interfaces(List<ParseResult<CompilationUnit>> results) {
+        ArrayList<ClassOrInterfaceDeclaration> interfaces = new ArrayList<ClassOrInterfaceDeclaration>();
+        for (ParseResult<CompilationUnit> result : results) {
+            if (result.getResult().isPresent()) {
+                for (ClassOrInterfaceDeclaration declaration : result.getResult().get().findAll(ClassOrInterfaceDeclaration.class)) {
+                    if (declaration.isInterface() && !declaration.isGeneric() && !declaration.isNestedType()) {
+                        interfaces.add(declaration);
+                    }
+                }
+            }
+        }
+        return interfaces;
+    }
+
+    private Implementation implement(ResolvedReferenceTypeDeclaration declaration) {
+        String namespace = this.configuration.rename(declaration.getPackageName());
+        String name = this.configuration.rename(declaration.getPackageName(), declaration.getQualifiedName());
+        return Implementation.create(this.configuration, this.symbols, declaration.asInterface(),
+                new Entity(namespace, name), new Entity(declaration));
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws Exception {
+        blackhole.consume(parse(newSolver()));
+    }
+
+    @Benchmark
+    public void resolve(Parsed parsed, Blackhole blackhole) {
+        for (ClassOrInterfaceDeclaration ast : parsed.interfaces) {
+            ResolvedReferenceTypeDeclaration declaration = ast.resolve();
+            blackhole.consume(declaration.getAllAncestors());
+        }
+    }
+
+    @Benchmark
+    public void model(Blackhole blackhole) {
+        for (ResolvedReferenceTypeDeclaration declaration : this.declarations) {
+            blackhole.consume(implement(declaration));
+        }
+    }
+
+    @Benchmark
+    public void imports(Blackhole blackhole) {
+        for (Implementation implementation : this.implementations) {
+            Importer importer = new Importer(implementation, this.symbols);
+            for (String name : implementation.getImports()) {
+                importer.add(name);
+            }
+            blackhole.consume(importer.getImports());
+            blackhole.consume(importer.getMapping());
+            blackhole.consume(importer.getSymbols());
+        }
+    }
+
+    @Benchmark
+    public void render() throws Exception {
+        Writer writer = Writer.nullWriter();
+        for (Implementation implementation : this.implementations) {
+            this.configuration.getTemplates().render(implementation, writer);
+        }
+    }
+
+    @Benchmark
+    public void generate() throws Exception {
+        new Generator(this.configuration).run();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.resolution.MethodUsage;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>The abstract methods inherited from ancestor interfaces, specialized with the type arguments of the ancestor.</p>
+ *
+ * <p>
+ *     Interfaces often share ancestors, so the methods of an ancestor and of all its own ancestors are walked and
+ *     specialized once, and kept by ancestor and type arguments for the next interfaces that extend it. The methods
+ *     come in the same order as a walk of the hierarchy: the methods declared by the ancestor, then the methods of
+ *     each of its ancestors in turn.
+ * </p>
+ *
+ * <p>
+ *     The cached methods belong to the {@link Solver} that resolved them, which is not thread-safe, so an instance
+ *     must only be used with one {@code Solver}, by one thread at a time.
+ * </p>
+ */
+public class Ancestors {
+
+    private final Map<String, List<MethodUsage>> methods;
+    private long hits;
+    private long misses;
+
+    public Ancestors() {
+        this.methods = new HashMap<String, List<MethodUsage>>();
+    }
+
+    /**
+     * The methods inherited from {@code type}, including the methods of its own ancestors. Types that are not
+     * interfaces have none.
+     */
+    public List<MethodUsage> get(ResolvedReferenceType type) {
+        // The interfaces implemented are not generic, so the type arguments of their ancestors are always concrete
+        String key = type.describe();
+        List<MethodUsage> usages = this.methods.get(key);
+        if (usages != null) {
+            this.hits++;
+            return usages;
+        }
+        this.misses++;
+        ArrayList<MethodUsage> list = new ArrayList<MethodUsage>();
+        Optional<ResolvedReferenceTypeDeclaration> declaration = type.getTypeDeclaration();
+        if (declaration.isPresent()) {
+            if (declaration.get().isInterface()) {
+                for (MethodUsage method : type.getDeclaredMethods()) {
+                    if (!method.getDeclaration().isDefaultMethod() && !method.getDeclaration().isStatic()) {
+                        list.add(Type.specialize(method, type));
+                    }
+                }
+                for (ResolvedReferenceType ancestor : declaration.get().getAncestors()) {
+                    list.addAll(get(Type.specialize(ancestor, type)));
+                }
+            }
+        }
+        usages = Collections.unmodifiableList(list);
+        this.methods.put(key, usages);
+        return usages;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+}
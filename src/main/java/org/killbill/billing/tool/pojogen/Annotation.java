@@ -30,7 +30,7 @@ public class Annotation {
 
     public Annotation(String name, String content, Mapping mapping) {
         this.name = name;
-        this.mapping = new Mapping(mapping);
+        this.mapping = mapping.freeze();
         this.content = content;
     }
 
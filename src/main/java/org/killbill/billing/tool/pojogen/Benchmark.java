@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JMH benchmark of the generated implementation of an interface: builder, copy constructor, {@code equals},
+ * {@code hashCode}, {@code toString} and Jackson round trip, over an instance where every property with a
+ * {@link Sample} is set.
+ */
+public class Benchmark extends Unit {
+    final static String SUFFIX = "Benchmark";
+    private final Implementation target;
+    private final Map<String, String> samples;
+
+    public Benchmark(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
+                     Implementation target, Map<String, String> samples) {
+        super(entity, imports, mapping, symbols);
+        this.target = target;
+        this.samples = samples;
+    }
+
+    public Implementation getTarget() {
+        return this.target;
+    }
+
+    /**
+     * The values the benchmarked instance is built with, by field.
+     */
+    public Map<String, String> getSamples() {
+        return this.samples;
+    }
+
+    public static Benchmark create(Configuration configuration, Symbols symbols, Implementation implementation) {
+
+        String namespace = implementation.getNamespace();
+        String name = implementation.getName() + SUFFIX;
+        Entity entity = new Entity(namespace, name);
+
+        Importer importer = new Importer(entity, symbols);
+        importer.addJavaDefaults();
+        importer.add(implementation);
+        importer.add(implementation.getBase());
+
+        importer.add("org.openjdk.jmh.annotations.Benchmark");
+        importer.add("org.openjdk.jmh.annotations.BenchmarkMode");
+        importer.add("org.openjdk.jmh.annotations.Mode");
+        importer.add("org.openjdk.jmh.annotations.OutputTimeUnit");
+        importer.add("org.openjdk.jmh.annotations.Scope");
+        importer.add("org.openjdk.jmh.annotations.Setup");
+        importer.add("org.openjdk.jmh.annotations.State");
+        importer.add("com.fasterxml.jackson.databind.ObjectMapper");
+        importer.add("com.fasterxml.jackson.databind.SerializationFeature");
+        importer.add("com.fasterxml.jackson.datatype.joda.JodaModule");
+        importer.add("com.fasterxml.jackson.databind.util.StdDateFormat");
+        importer.add("java.io.IOException");
+        importer.add("java.util.concurrent.TimeUnit");
+        Sample.addAll(configuration, importer, implementation.getProperties());
+
+        List<String> imports = importer.getImports();
+        Mapping mapping = importer.getMapping();
+        symbols = importer.getSymbols();
+
+        return new Benchmark(entity, imports, mapping, symbols, implementation,
+                Sample.create(configuration, mapping, implementation.getProperties()));
+    }
+}
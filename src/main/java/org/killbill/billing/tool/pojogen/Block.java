@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import freemarker.core.Environment;
+import freemarker.template.TemplateDirectiveBody;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateNumberModel;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * <p>The implementation of the {@code block} macro of {@code common.ftl}, registered as the {@code _block} shared
+ * variable.</p>
+ *
+ * <p>
+ *     The nested content is captured, {@code top} empty lines are added before it and {@code bottom} empty lines after
+ *     it, or the first {@code -top} and last {@code -bottom} lines are dropped when they are negative. Each remaining
+ *     line is then right-trimmed and shifted by {@code left} columns: spaces are added when {@code left} is positive,
+ *     and up to {@code -left} leading blanks are removed when it is negative. Lines are left as is when {@code left}
+ *     is zero.
+ * </p>
+ *
+ * <p>
+ *     This is done in a single pass over the captured characters, instead of splitting and trimming strings one
+ *     character at a time in FTL.
+ * </p>
+ */
+public class Block implements TemplateDirectiveModel {
+
+    static final String NAME = "_block";
+
+    private static final String LEFT = "left";
+    private static final String BOTTOM = "bottom";
+    private static final String TOP = "top";
+
+    @Override
+    public void execute(Environment env, Map params, TemplateModel[] loopVars, TemplateDirectiveBody body)
+            throws TemplateException, IOException {
+        int left = 0;
+        int bottom = 0;
+        int top = 0;
+        for (Object o : params.entrySet()) {
+            Map.Entry entry = (Map.Entry) o;
+            String name = (String) entry.getKey();
+            int value = number(name, (TemplateModel) entry.getValue());
+            if (LEFT.equals(name)) {
+                left = value;
+            } else if (BOTTOM.equals(name)) {
+                bottom = value;
+            } else if (TOP.equals(name)) {
+                top = value;
+            } else {
+                throw new TemplateModelException("Unsupported parameter '" + name + "' for " + NAME + ".");
+            }
+        }
+
+        CharArrayWriter capture = new CharArrayWriter();
+        if (body != null) {
+            body.render(capture);
+        }
+        write(env.getOut(), capture.toCharArray(), left, bottom, top);
+    }
+
+    private static int number(String name, TemplateModel model) throws TemplateModelException {
+        if (!(model instanceof TemplateNumberModel)) {
+            throw new TemplateModelException("Parameter '" + name + "' of " + NAME + " must be a number.");
+        }
+        return ((TemplateNumberModel) model).getAsNumber().intValue();
+    }
+
+    private static void write(Writer out, char[] chars, int left, int bottom, int top) throws IOException {
+        int count = 1;
+        for (char c : chars) {
+            if (c == '\n') {
+                count++;
+            }
+        }
+        // Lines of the captured text, plus the empty lines added before and after it
+        int before = Math.max(top, 0);
+        int total = before + count + Math.max(bottom, 0);
+        int start = (top < 0) ? -top : 0;
+        int end = (bottom < 0) ? total + bottom : total;
+
+        boolean first = true;
+        int offset = 0;
+        for (int line = 0; line < total && line < end; line++) {
+            int from = 0;
+            int to = 0;
+            if (line >= before && line < before + count) {
+                from = offset;
+                to = offset;
+                while (to < chars.length && chars[to] != '\n') {
+                    to++;
+                }
+                offset = to + 1;
+            }
+            if (line < start) {
+                continue;
+            }
+            if (!first) {
+                out.write('\n');
+            }
+            first = false;
+            indent(out, chars, from, to, left);
+        }
+    }
+
+    private static void indent(Writer out, char[] chars, int from, int to, int left) throws IOException {
+        if (left == 0) {
+            out.write(chars, from, to - from);
+            return;
+        }
+        int end = to;
+        while (end > from && blank(chars[end - 1])) {
+            end--;
+        }
+        if (end == from) {
+            return;
+        }
+        // string.right_trim returns its input untouched when its last non blank character is the first one
+        if (end > from + 1) {
+            to = end;
+        }
+        if (left < 0) {
+            int limit = Math.min(from - left, to);
+            while (from < limit && blank(chars[from])) {
+                from++;
+            }
+        } else {
+            for (int i = 0; i < left; i++) {
+                out.write(' ');
+            }
+        }
+        out.write(chars, from, to - from);
+    }
+
+    private static boolean blank(char c) {
+        return (c == ' ') || (c == '\t') || (c == '\n');
+    }
+}
@@ -16,21 +16,28 @@
 
 package org.killbill.billing.tool.pojogen;
 
+import org.apache.commons.io.FileUtils;
+
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 class Configuration {
 
     private static final Log log = new Log(Configuration.class);
+    private static final String DEPENDENCY_INDEX = ".pojogen/dependencies.idx";
 
     private final Charset encoding;
     private final File output;
     private final File resource;
+    private final File dependencyIndex;
     private final File test;
+    private final File benchmark;
     private final Settings settings;
     private final String builder;
     private final String module;
@@ -38,6 +45,14 @@ class Configuration {
     private final String resolver;
     private final String subpackage;
     private final String suffix;
+    private final boolean immutable;
+    private final boolean serializers;
+    private final boolean warmUp;
+    private final int threads;
+    private final int parseThreads;
+    private final boolean incremental;
+    private final boolean stats;
+    private final File statsFile;
     private final Templates templates;
     private final List<File> dependencies;
     private final List<File> sources;
@@ -55,7 +70,10 @@ class Configuration {
         this.interfaces = new HashSet<String>(this.settings.getInterfaces());
         this.namespaces = new HashSet<String>(this.settings.getPackages());
         this.test = this.settings.getTest();
+        this.benchmark = this.settings.getBenchmark();
         this.resource = this.settings.getResource();
+        this.dependencyIndex = (this.settings.getDependencyIndex() != null) ?
+                this.settings.getDependencyIndex() : new File(FileUtils.getUserDirectory(), DEPENDENCY_INDEX);
         this.subpackage = this.settings.getSubpackage();
         this.suffix = this.settings.getSuffix();
         this.prefix = this.settings.getPrefix();
@@ -63,6 +81,14 @@ class Configuration {
         this.module = this.settings.getModule();
         this.output = this.settings.getOutput();
         this.builder = this.settings.getBuilder();
+        this.immutable = this.settings.isImmutable();
+        this.serializers = this.settings.isSerializers();
+        this.warmUp = this.settings.isWarmUp();
+        this.threads = Math.max(1, this.settings.getThreads());
+        this.parseThreads = Math.max(1, this.settings.getParseThreads());
+        this.incremental = this.settings.isIncremental();
+        this.stats = this.settings.isStats();
+        this.statsFile = this.settings.getStatsFile();
     }
 
     public String rename(String namespace, String name) {
@@ -82,6 +108,21 @@ class Configuration {
         }
     }
 
+    /**
+     * Whether only some packages or interfaces are accepted, in which case only their source files are parsed.
+     */
+    public boolean isTargeted() {
+        return !this.namespaces.isEmpty() || !this.interfaces.isEmpty();
+    }
+
+    public Set<String> getNamespaces() {
+        return this.namespaces;
+    }
+
+    public Set<String> getInterfaces() {
+        return this.interfaces;
+    }
+
     public boolean isComparable(String name) {
         return this.comparables.contains(name);
     }
@@ -90,10 +131,26 @@ class Configuration {
         return this.builder;
     }
 
+    public boolean isImmutable() {
+        return this.immutable;
+    }
+
+    public boolean isSerializers() {
+        return this.serializers;
+    }
+
+    public boolean isWarmUp() {
+        return this.warmUp;
+    }
+
     public List<File> getDependencies() {
         return this.dependencies;
     }
 
+    public File getDependencyIndex() {
+        return this.dependencyIndex;
+    }
+
     public Charset getEncoding() {
         return this.encoding;
     }
@@ -125,4 +182,53 @@ class Configuration {
     public File getTest() {
         return this.test;
     }
+
+    public File getBenchmark() {
+        return this.benchmark;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getParseThreads() {
+        return this.parseThreads;
+    }
+
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
+    public boolean isStats() {
+        return this.stats;
+    }
+
+    public File getStatsFile() {
+        return this.statsFile;
+    }
+
+    /**
+     * A hash of everything, except the source code, that changes the generated files: the templates and the
+     * settings that end up in the output.
+     */
+    public String getFingerprint() throws IOException {
+        Digest digest = new Digest();
+        digest.add(this.templates.getFingerprint());
+        digest.add(this.encoding.name());
+        digest.add(String.valueOf(this.output));
+        digest.add(String.valueOf(this.resource));
+        digest.add(String.valueOf(this.test));
+        digest.add(String.valueOf(this.benchmark));
+        digest.add(this.subpackage);
+        digest.add(this.prefix);
+        digest.add(this.suffix);
+        digest.add(this.builder);
+        digest.add(String.valueOf(this.immutable));
+        digest.add(String.valueOf(this.serializers));
+        digest.add(String.valueOf(this.warmUp));
+        digest.add(this.resolver);
+        digest.add(this.module);
+        digest.add(String.join(",", new TreeSet<String>(this.comparables)));
+        return digest.hex();
+    }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOCase;
+import org.apache.commons.io.filefilter.DirectoryFileFilter;
+import org.apache.commons.io.filefilter.WildcardFileFilter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>An index of the packages provided by each jar of the dependency directories.</p>
+ *
+ * <p>
+ *     Opening every jar with a {@link JarTypeSolver} is slow and memory hungry when the dependency directory is a
+ *     whole local Maven repository. Instead, the index only lists the packages of each jar, and is persisted on disk
+ *     keyed by jar path, size and modification time, so that a jar is only read again when it changes. The type
+ *     solver returned by {@link #newTypeSolver()} opens a jar the first time a type of one of its packages is looked
+ *     up.
+ * </p>
+ *
+ * <p>An index is immutable once created, and can be shared by the {@link Solver} of every worker.</p>
+ */
+public class Dependencies {
+
+    private static final Log log = new Log(Dependencies.class);
+    private static final String SEPARATOR = "\t";
+    private static final String CLASS = ".class";
+
+    private static class Jar {
+        private final long size;
+        private final long modified;
+        private final List<String> packages;
+
+        private Jar(long size, long modified, List<String> packages) {
+            this.size = size;
+            this.modified = modified;
+            this.packages = packages;
+        }
+
+        private boolean matches(File file) {
+            return (this.size == file.length()) && (this.modified == file.lastModified());
+        }
+    }
+
+    /**
+     * A type solver that opens the jars of the index lazily. Jars that provide the same package are tried in the
+     * order they were found in the dependency directories, as a {@code CombinedTypeSolver} of {@link JarTypeSolver}s
+     * would do.
+     */
+    private static class Lazy implements TypeSolver {
+        private final Dependencies dependencies;
+        private final Map<File, Optional<JarTypeSolver>> solvers;
+        private TypeSolver parent;
+
+        private Lazy(Dependencies dependencies) {
+            this.dependencies = dependencies;
+            this.solvers = new HashMap<File, Optional<JarTypeSolver>>();
+        }
+
+        @Override
+        public TypeSolver getParent() {
+            return this.parent;
+        }
+
+        @Override
+        public void setParent(TypeSolver parent) {
+            if (parent == null) {
+                throw new IllegalArgumentException("The parent of a TypeSolver cannot be null.");
+            }
+            if (this.parent != null) {
+                throw new IllegalStateException("This TypeSolver already has a parent.");
+            }
+            this.parent = parent;
+        }
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            // The package of a nested type is not known from its name alone, so try every prefix
+            for (int i = name.lastIndexOf('.'); i > 0; i = name.lastIndexOf('.', i - 1)) {
+                List<File> jars = this.dependencies.packages.get(name.substring(0, i));
+                if (jars != null) {
+                    for (File jar : jars) {
+                        Optional<JarTypeSolver> solver = open(jar);
+                        if (solver.isPresent()) {
+                            SymbolReference<ResolvedReferenceTypeDeclaration> reference = solver.get().tryToSolveType(name);
+                            if (reference.isSolved()) {
+                                return reference;
+                            }
+                        }
+                    }
+                }
+            }
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+
+        private Optional<JarTypeSolver> open(File jar) {
+            return this.solvers.computeIfAbsent(jar, (file) -> {
+                try {
+                    log.trace("Opened jar dependency: %s", file);
+                    JarTypeSolver solver = new JarTypeSolver(file);
+                    solver.setParent(this);
+                    return Optional.of(solver);
+                } catch (IOException e) {
+                    log.warn("Cannot open jar dependency <%s>: %s", file, e.getMessage());
+                    return Optional.empty();
+                }
+            });
+        }
+    }
+
+    private final Map<String, List<File>> packages;
+    private final int size;
+
+    private Dependencies(Map<String, List<File>> packages, int size) {
+        this.packages = packages;
+        this.size = size;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public TypeSolver newTypeSolver() {
+        return new Lazy(this);
+    }
+
+    public static Dependencies create(Configuration configuration) {
+        return create(configuration.getDependencies(), configuration.getDependencyIndex());
+    }
+
+    public static Dependencies create(List<File> directories, File index) {
+        Map<String, Jar> cache = read(index);
+        LinkedHashMap<String, Jar> jars = new LinkedHashMap<String, Jar>();
+        int scanned = 0;
+        for (File directory : directories) {
+            if (directory.exists()) {
+                Iterator<File> iterator = FileUtils.iterateFiles(directory,
+                        new WildcardFileFilter("*.jar", IOCase.INSENSITIVE),
+                        DirectoryFileFilter.INSTANCE);
+
+                while (iterator.hasNext()) {
+                    File file = iterator.next();
+                    String path = file.getAbsolutePath();
+                    if (jars.containsKey(path)) {
+                        continue;
+                    }
+                    Jar jar = cache.get(path);
+                    if ((jar == null) || !jar.matches(file)) {
+                        jar = scan(file);
+                        scanned++;
+                    }
+                    if (jar != null) {
+                        jars.put(path, jar);
+                    }
+                }
+            } else {
+                log.warn("Dependency directory <%s> does not exit.", directory);
+            }
+        }
+        log.trace("Indexed %d jar dependencies, %d of them read again.", jars.size(), scanned);
+        if ((index != null) && ((scanned > 0) || !cache.keySet().equals(jars.keySet()))) {
+            write(index, jars);
+        }
+
+        HashMap<String, List<File>> packages = new HashMap<String, List<File>>();
+        for (Map.Entry<String, Jar> entry : jars.entrySet()) {
+            File file = new File(entry.getKey());
+            for (String name : entry.getValue().packages) {
+                packages.computeIfAbsent(name, (key) -> new ArrayList<File>()).add(file);
+            }
+        }
+        return new Dependencies(packages, jars.size());
+    }
+
+    private static Jar scan(File file) {
+        TreeSet<String> packages = new TreeSet<String>();
+        try (ZipFile zip = new ZipFile(file)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(CLASS)) {
+                    int slash = name.lastIndexOf('/');
+                    packages.add((slash < 0) ? "" : name.substring(0, slash).replace('/', '.'));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot read jar dependency <%s>: %s", file, e.getMessage());
+            return null;
+        }
+        return new Jar(file.length(), file.lastModified(), new ArrayList<String>(packages));
+    }
+
+    private static Map<String, Jar> read(File index) {
+        HashMap<String, Jar> jars = new HashMap<String, Jar>();
+        if ((index != null) && index.exists()) {
+            try (BufferedReader reader = Files.newBufferedReader(index.toPath(), StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    String[] fields = line.split(SEPARATOR, -1);
+                    if (fields.length == 4) {
+                        List<String> packages = fields[3].isEmpty() ?
+                                new ArrayList<String>() : Arrays.asList(fields[3].split(","));
+                        jars.put(fields[0], new Jar(Long.parseLong(fields[1]), Long.parseLong(fields[2]), packages));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Cannot read dependency index <%s>, all jars will be read again: %s", index, e.getMessage());
+                jars.clear();
+            }
+        }
+        return jars;
+    }
+
+    /**
+     * Write the index to a temporary file of a unique name next to it, then atomically move it in place, so that runs
+     * sharing the index never read a partial one, nor write to the same temporary file.
+     */
+    private static void write(File index, Map<String, Jar> jars) {
+        try {
+            FileUtils.forceMkdirParent(index);
+            Path temporary = Files.createTempFile(index.getParentFile().toPath(), index.getName() + ".", ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Jar> entry : jars.entrySet()) {
+                        writer.write(String.join(SEPARATOR, entry.getKey(),
+                                Long.toString(entry.getValue().size),
+                                Long.toString(entry.getValue().modified),
+                                String.join(",", entry.getValue().packages)));
+                        writer.newLine();
+                    }
+                }
+                Files.move(temporary, index.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot write dependency index <%s>: %s", index, e.getMessage());
+        }
+    }
+}
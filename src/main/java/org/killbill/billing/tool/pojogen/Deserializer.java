@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.resolution.types.ResolvedType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Jackson {@code StdDeserializer} of the generated implementation of an interface, that reads its properties with
+ * streaming calls into its builder, instead of the reflective builder based deserializer. The deserializers of its
+ * properties are resolved once per mapper.
+ */
+public class Deserializer extends Unit {
+    final static String SUFFIX = "Deserializer";
+    private final Implementation target;
+    private final Map<String, String> constants;
+
+    public Deserializer(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
+                        Implementation target, Map<String, String> constants) {
+        super(entity, imports, mapping, symbols);
+        this.target = target;
+        this.constants = constants;
+    }
+
+    public Implementation getTarget() {
+        return this.target;
+    }
+
+    /**
+     * The names of the constants of each property, by field.
+     */
+    public Map<String, String> getConstants() {
+        return this.constants;
+    }
+
+    public static Deserializer create(Configuration configuration, Symbols symbols, Implementation implementation) {
+
+        String namespace = implementation.getNamespace();
+        String name = implementation.getName() + SUFFIX;
+        Property.checkJsonNames(implementation.getName(), implementation.getProperties());
+        Entity entity = new Entity(namespace, name);
+
+        Importer importer = new Importer(entity, symbols);
+        importer.addJavaDefaults();
+        importer.add(implementation);
+        importer.add(implementation.getBuilder());
+
+        importer.add("com.fasterxml.jackson.core.JsonParser");
+        importer.add("com.fasterxml.jackson.core.JsonToken");
+        importer.add("com.fasterxml.jackson.core.type.TypeReference");
+        importer.add("com.fasterxml.jackson.databind.DeserializationContext");
+        importer.add("com.fasterxml.jackson.databind.JavaType");
+        importer.add("com.fasterxml.jackson.databind.JsonDeserializer");
+        importer.add("com.fasterxml.jackson.databind.JsonMappingException");
+        importer.add("com.fasterxml.jackson.databind.deser.ResolvableDeserializer");
+        importer.add("com.fasterxml.jackson.databind.deser.std.StdDeserializer");
+        importer.add("com.fasterxml.jackson.databind.type.TypeFactory");
+        importer.add("java.io.IOException");
+        ArrayList<ResolvedType> types = new ArrayList<ResolvedType>();
+        for (Property property : implementation.getProperties()) {
+            Implementation.gather(property.getType().getType(), types);
+        }
+        importer.addAll(types);
+
+        List<String> imports = importer.getImports();
+        Mapping mapping = importer.getMapping();
+        symbols = importer.getSymbols();
+
+        return new Deserializer(entity, imports, mapping, symbols, implementation,
+                Property.constants(implementation.getProperties(), symbols));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class Digest {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest md;
+
+    public Digest() {
+        try {
+            this.md = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    public Digest add(String s) {
+        if (s != null) {
+            this.add(s.getBytes(StandardCharsets.UTF_8));
+        }
+        // Separator, so that ("ab", "c") and ("a", "bc") do not collide
+        this.md.update((byte) 0);
+        return this;
+    }
+
+    public Digest add(byte[] bytes) {
+        this.md.update(bytes);
+        return this;
+    }
+
+    public Digest add(File file) throws IOException {
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            this.add(input);
+        }
+        this.md.update((byte) 0);
+        return this;
+    }
+
+    public Digest add(InputStream input) throws IOException {
+        byte[] buffer = new byte[8192];
+        for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+            this.md.update(buffer, 0, read);
+        }
+        return this;
+    }
+
+    public String hex() {
+        return hex(this.md.digest());
+    }
+
+    public static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[2 * i + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+}
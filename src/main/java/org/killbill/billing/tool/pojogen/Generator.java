@@ -16,163 +16,600 @@
 
 package org.killbill.billing.tool.pojogen;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
-import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.resolution.UnsolvedSymbolException;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
-import com.github.javaparser.symbolsolver.JavaSymbolSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
-import com.github.javaparser.utils.SourceRoot;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOCase;
-import org.apache.commons.io.filefilter.DirectoryFileFilter;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class Generator {
     private static final Log log = new Log(Generator.class);
+    private static final int BUFFER = 64 * 1024;
+    private static final String JAVA = ".java";
+
+    /**
+     * What the pipeline did with one discovered interface: generated it, found it unchanged since the last incremental
+     * run, or skipped it because it is not accepted. Only the summary of a generated interface is kept, its model and
+     * its AST are released as soon as its files are written.
+     */
+    private static class Outcome {
+        private final boolean implemented;
+        private final Summary summary;
+        private final Manifest.Entry entry;
+        private final String skipped;
+
+        private Outcome(boolean implemented, Summary summary, Manifest.Entry entry, String skipped) {
+            this.implemented = implemented;
+            this.summary = summary;
+            this.entry = entry;
+            this.skipped = skipped;
+        }
+    }
+
+    /**
+     * A source file to parse.
+     */
+    private static class Source {
+        private final Path path;
+
+        private Source(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Parse the file with a new {@code JavaParser}, bound to the symbol solver of {@code solver}. Nothing keeps the
+         * result but the caller.
+         */
+        private ParseResult<CompilationUnit> parse(Solver solver) throws IOException {
+            return new JavaParser(solver.getParserConfiguration()).parse(this.path);
+        }
+    }
+
     private final Configuration configuration;
     private final Symbols symbols;
+    private final AtomicInteger written;
+    private final AtomicInteger identical;
+    private Dependencies dependencies;
+    private String fingerprint;
+    private Manifest manifest;
+    private Stats stats;
 
     public Generator(Configuration configuration) throws Exception {
         this.configuration = configuration;
         this.symbols = Symbols.java();
+        this.written = new AtomicInteger();
+        this.identical = new AtomicInteger();
     }
 
-    private List<SourceRoot> sources() throws IOException {
-        ArrayList<SourceRoot> list = new ArrayList<SourceRoot>();
-        CombinedTypeSolver solver = new CombinedTypeSolver();
-        ParserConfiguration configuration = new ParserConfiguration();
-        configuration.setCharacterEncoding(this.configuration.getEncoding());
-        configuration.setSymbolResolver(new JavaSymbolSolver(solver));
-        solver.add(new ReflectionTypeSolver(true));
-
-        for (File dependency : this.configuration.getDependencies()) {
-            if (dependency.exists()) {
-                Iterator<File> jars = FileUtils.iterateFiles(dependency,
-                        new WildcardFileFilter("*.jar", IOCase.INSENSITIVE),
-                        DirectoryFileFilter.INSTANCE);
-
-                while (jars.hasNext()) {
-                    File jar = jars.next();
-                    log.trace("Added jar dependency: %s", jar);
-                    solver.add(new JarTypeSolver(jar));
+    private Solver solver() {
+        if (this.dependencies == null) {
+            // Jars do not change between the runs of a watching generator
+            Stats.Clock clock = Stats.clock();
+            this.dependencies = Dependencies.create(this.configuration);
+            this.stats.phase("dependencies", clock);
+        }
+        Solver solver = Solver.create(this.configuration, this.dependencies);
+        if (solver.getSources().isEmpty()) {
+            log.error("No source directory added.");
+        }
+        return solver;
+    }
+
+    /**
+     * <p>The source files that may declare accepted interfaces, sorted by source directory, package and name.</p>
+     *
+     * <p>
+     *     When every interface is accepted, these are all the files of the source directories. Otherwise only the files
+     *     of the accepted packages and the files named after the accepted interfaces are, or the whole package of an
+     *     accepted interface when there is no such file. The types they depend on are parsed later, on demand, by the
+     *     {@link Solver}.
+     * </p>
+     */
+    private List<Source> sources(Solver solver) {
+        ArrayList<Source> sources = new ArrayList<Source>();
+        for (File root : solver.getSources()) {
+            if (!this.configuration.isTargeted()) {
+                walk(root, sources);
+                continue;
+            }
+            TreeSet<String> namespaces = new TreeSet<String>(this.configuration.getNamespaces());
+            TreeMap<String, String> interfaces = new TreeMap<String, String>();
+            for (String name : this.configuration.getInterfaces()) {
+                String namespace = Namespaces.namespace(name, Namespaces.moniker(name));
+                if (!namespaces.contains(namespace)) {
+                    if (Namespaces.file(root, namespace, name).isFile()) {
+                        interfaces.put(name, namespace);
+                    } else {
+                        namespaces.add(namespace);
+                    }
                 }
-            } else {
-                log.warn("Dependency directory <%s> does not exit.", dependency);
+            }
+            for (String namespace : namespaces) {
+                for (File file : list(directory(root, namespace))) {
+                    if (file.isFile() && file.getName().endsWith(JAVA)) {
+                        sources.add(new Source(file.toPath()));
+                    }
+                }
+            }
+            for (Map.Entry<String, String> entry : interfaces.entrySet()) {
+                sources.add(new Source(Namespaces.file(root, entry.getValue(), entry.getKey()).toPath()));
             }
         }
-        for (File source : this.configuration.getSources()) {
-            if (source.exists()) {
-                log.trace("Added source directory: %s", source);
-                solver.add(new JavaParserTypeSolver(source, configuration));
-                list.add(new SourceRoot(source.toPath(), configuration));
-            } else {
-                log.warn("Source directory <%s> does not exit.", source);
+        return sources;
+    }
+
+    /**
+     * List the Java files of a package and its subpackages, skipping the hidden directories and the directories that
+     * cannot be a package, like {@code SourceRoot} does.
+     */
+    private static void walk(File directory, List<Source> sources) {
+        for (File file : list(directory)) {
+            if (file.isFile() && file.getName().endsWith(JAVA)) {
+                sources.add(new Source(file.toPath()));
             }
         }
-        if (list.isEmpty()) {
-            log.error("No source directory added.");
-            ;
+        for (File file : list(directory)) {
+            if (file.isDirectory() && !file.isHidden() && identifier(file.getName())) {
+                walk(file, sources);
+            }
         }
-        return list;
     }
 
-    public void run() throws Exception {
-        ArrayList<ClassOrInterfaceDeclaration> interfaces = new ArrayList<ClassOrInterfaceDeclaration>();
-        for (SourceRoot source : this.sources()) {
-            List<ParseResult<CompilationUnit>> results = source.tryToParse();
-
-            for (ParseResult<CompilationUnit> result : results) {
-                if (result.isSuccessful()) {
-                    Optional<CompilationUnit> unit = result.getResult();
-                    if (unit.isPresent()) {
-                        List<ClassOrInterfaceDeclaration> declarations = unit.get().findAll(ClassOrInterfaceDeclaration.class);
-                        for (ClassOrInterfaceDeclaration declaration : declarations) {
-                            if (declaration.isInterface() && !declaration.isGeneric() && !declaration.isNestedType()) {
-                                interfaces.add(declaration);
-                            }
-                        }
-                    }
+    private static File[] list(File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
 
-                }
+    private static boolean identifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
             }
         }
-        if (interfaces.isEmpty()) {
+        return true;
+    }
+
+    private static File directory(File root, String namespace) {
+        return namespace.isEmpty() ? root : new File(root, namespace.replace('.', File.separatorChar));
+    }
+
+    /**
+     * The timings and counters of the last run.
+     */
+    public Stats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * <p>Generate the POJOs of all the accepted interfaces.</p>
+     *
+     * <p>
+     *     Source files are streamed through the pipeline one at a time: a file is parsed, its interfaces are resolved
+     *     and implemented, and their classes, tests and benchmarks are written, before the next file. Only a
+     *     {@link Summary} of each interface is kept until the end of the run, to write the resolvers, modules and
+     *     service file, so the memory used does not grow with the number of interfaces.
+     * </p>
+     */
+    public void run() throws Exception {
+        this.written.set(0);
+        this.identical.set(0);
+        this.stats = new Stats();
+        Solver solver = this.solver();
+        List<Source> sources = sources(solver);
+        if (this.configuration.isIncremental()) {
+            this.fingerprint = this.configuration.getFingerprint();
+            this.manifest = Manifest.read(manifest());
+        }
+
+        List<Outcome> outcomes;
+        if (this.configuration.getThreads() > 1) {
+            outcomes = generate(sources);
+        } else {
+            outcomes = generate(sources, solver);
+        }
+        if (outcomes.isEmpty()) {
             log.warn("No interface found in source code by JavaParser." +
                     "Please ensure that all your source code can be compiled and all the required dependencies are provided.");
         } else {
-            ArrayList<Implementation> implementations = new ArrayList<Implementation>();
+            ArrayList<Summary> summaries = new ArrayList<Summary>();
+            ArrayList<Summary> implemented = new ArrayList<Summary>();
+            ArrayList<Summary> unchanged = new ArrayList<Summary>();
             ArrayList<String> skipped = new ArrayList<String>();
-            for (ClassOrInterfaceDeclaration ast : interfaces) {
-                Optional<String> fqn = ast.getFullyQualifiedName();
-                if (fqn.isPresent()) {
-                    try {
-                        ResolvedReferenceTypeDeclaration declaration = ast.resolve();
-                        if (this.configuration.accepts(declaration.getPackageName(), declaration.getQualifiedName())) {
-                            String namespace = this.configuration.rename(declaration.getPackageName());
-                            String name = this.configuration.rename(declaration.getPackageName(), declaration.getQualifiedName());
-                            Entity entity = new Entity(namespace, name);
-                            Entity base = new Entity(declaration);
-                            Implementation implementation = Implementation.create(this.configuration,
-                                    this.symbols, declaration.asInterface(), entity, base);
-                            implementations.add(implementation);
-                        } else {
-                            skipped.add(declaration.getQualifiedName());
+            for (Outcome outcome : outcomes) {
+                if (outcome.skipped != null) {
+                    skipped.add(outcome.skipped);
+                } else {
+                    summaries.add(outcome.summary);
+                    if (outcome.implemented) {
+                        implemented.add(outcome.summary);
+                    } else {
+                        unchanged.add(outcome.summary);
+                    }
+                }
+            }
+
+            this.stats.count("implemented", implemented.size());
+            this.stats.count("unchanged", unchanged.size());
+            this.stats.count("skipped", skipped.size());
+
+            process(summaries);
+
+            if (this.manifest != null) {
+                Stats.Clock clock = Stats.clock();
+                this.manifest.write(manifest(), this.fingerprint);
+                this.stats.phase("manifest", clock);
+            }
+
+            showSummary(skipped, unchanged, implemented);
+        }
+        this.stats.count("writtenFiles", this.written.get());
+        this.stats.count("unchangedFiles", this.identical.get());
+        showStats();
+    }
+
+    /**
+     * <p>Serial version of the pipeline, on the thread of {@link #run()}.</p>
+     *
+     * <p>
+     *     With {@code parseThreads} above one, the next files are parsed ahead by other threads while the current one
+     *     is generated. At most two files per parsing thread are parsed ahead, so that parsed files do not pile up.
+     * </p>
+     */
+    private List<Outcome> generate(List<Source> sources, Solver solver) throws Exception {
+        ArrayList<Outcome> outcomes = new ArrayList<Outcome>();
+        ArrayList<List<Outcome>> cached = new ArrayList<List<Outcome>>();
+        for (Source source : sources) {
+            cached.add(cached(source));
+        }
+        Ancestors ancestors = new Ancestors();
+        int threads = Math.min(this.configuration.getParseThreads(), sources.size());
+        ExecutorService executor = (threads > 1) ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            ArrayDeque<Future<ParseResult<CompilationUnit>>> ahead = new ArrayDeque<Future<ParseResult<CompilationUnit>>>();
+            int next = 0;
+            for (int index = 0; index < sources.size(); index++) {
+                if (cached.get(index) != null) {
+                    outcomes.addAll(cached.get(index));
+                    continue;
+                }
+                ParseResult<CompilationUnit> result;
+                if (executor == null) {
+                    result = parse(sources.get(index), solver);
+                } else {
+                    for (; next < sources.size() && next <= index + 2 * threads; next++) {
+                        if (cached.get(next) == null) {
+                            Source source = sources.get(next);
+                            ahead.add(executor.submit(() -> parse(source, solver)));
                         }
-                    } catch (UnsolvedSymbolException e) {
-                        log.trace("%s\n%s", fqn.get(), ast);
-                        log.error("Unresolved symbol <%s> in interface %s", e.getName(), fqn.get());
-                        throw e;
-                    } catch (Exception e) {
-                        log.trace("%s\n%s", fqn.get(), ast);
-                        log.error("Cannot implement interface %s", fqn.get());
-                        throw e;
                     }
+                    result = get(ahead.poll());
                 }
+                outcomes.addAll(generate(sources.get(index), result, ancestors));
             }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        count(ancestors);
+        return outcomes;
+    }
 
-            process(implementations);
+    /**
+     * <p>Parallel version of the pipeline.</p>
+     *
+     * <p>
+     *     Each worker owns a {@link Solver}, and parses the files it pulls from a shared index with it, so no
+     *     JavaParser state is shared between threads. Outcomes are stored by the position of their file, so they come
+     *     out in the same order as the serial run. The methods of ancestors are cached per worker too, as they belong
+     *     to its {@code Solver}.
+     * </p>
+     */
+    private List<Outcome> generate(List<Source> sources) throws Exception {
+        int threads = Math.min(this.configuration.getThreads(), sources.size());
+        AtomicReferenceArray<List<Outcome>> outcomes = new AtomicReferenceArray<List<Outcome>>(sources.size());
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        try {
+            ArrayList<Future<Void>> workers = new ArrayList<Future<Void>>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    Solver solver = Solver.create(this.configuration, this.dependencies);
+                    Ancestors ancestors = new Ancestors();
+                    for (int index = next.getAndIncrement(); index < sources.size(); index = next.getAndIncrement()) {
+                        try {
+                            Source source = sources.get(index);
+                            List<Outcome> cached = cached(source);
+                            outcomes.set(index, (cached != null) ? cached : generate(source, parse(source, solver), ancestors));
+                        } catch (Exception e) {
+                            next.set(sources.size());
+                            throw e;
+                        }
+                    }
+                    count(ancestors);
+                    return null;
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                get(worker);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        ArrayList<Outcome> list = new ArrayList<Outcome>();
+        for (int index = 0; index < outcomes.length(); index++) {
+            if (outcomes.get(index) != null) {
+                list.addAll(outcomes.get(index));
+            }
+        }
+        return list;
+    }
 
-            showSummary(skipped, implementations);
+    private static <T> T get(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
         }
     }
 
-    private void process(List<Implementation> implementations) throws Exception {
+    private ParseResult<CompilationUnit> parse(Source source, Solver solver) throws IOException {
+        Stats.Clock clock = Stats.clock();
+        ParseResult<CompilationUnit> result = source.parse(solver);
+        this.stats.phase("parse", clock);
+        this.stats.count("parsedFiles", 1);
+        return result;
+    }
 
-        if (!implementations.isEmpty()) {
-            ArrayList<Resolver> resolvers = new ArrayList<Resolver>();
-            ArrayList<Module> modules = new ArrayList<Module>();
-            ArrayList<Test> tests = new ArrayList<Test>();
+    /**
+     * The outcomes of the last incremental run for a source file, if the manifest tells that neither the file nor the
+     * ancestors of its interfaces changed, and the files generated for them are still there. The file does not need
+     * to be parsed then.
+     */
+    private List<Outcome> cached(Source source) {
+        if (this.manifest == null) {
+            return null;
+        }
+        Manifest.Source record = this.manifest.get(this.fingerprint, source.path);
+        if (record == null) {
+            return null;
+        }
+        ArrayList<Outcome> outcomes = new ArrayList<Outcome>();
+        for (String name : record.getSkipped()) {
+            if (this.configuration.accepts(Namespaces.namespace(name, Namespaces.moniker(name)), name)) {
+                return null;
+            }
+            outcomes.add(new Outcome(false, null, null, name));
+        }
+        for (Manifest.Entry entry : record.getInterfaces()) {
+            Summary summary = entry.toSummary();
+            if (!this.configuration.accepts(entry.getNamespace(), entry.getName()) || !exists(summary)) {
+                return null;
+            }
+            outcomes.add(new Outcome(false, summary, entry, null));
+        }
+        this.manifest.put(source.path, record);
+        this.stats.count("cachedFiles", 1);
+        return outcomes;
+    }
+
+    /**
+     * Generate the interfaces declared in a parsed file, in their order of declaration, and record them in the
+     * manifest.
+     */
+    private List<Outcome> generate(Source source, ParseResult<CompilationUnit> result, Ancestors ancestors) throws Exception {
+        List<Outcome> outcomes = generate(result, ancestors);
+        if (this.manifest != null) {
+            Manifest.Source record = new Manifest.Source();
+            for (Outcome outcome : outcomes) {
+                if (outcome.skipped != null) {
+                    record.getSkipped().add(outcome.skipped);
+                } else {
+                    record.getInterfaces().add(outcome.entry);
+                }
+            }
+            this.manifest.put(source.path, record);
+        }
+        return outcomes;
+    }
 
-            if (this.configuration.getTest() != null) {
-                for (Implementation implementation : implementations) {
-                    Test test = Test.create(this.configuration, this.symbols, implementation);
-                    tests.add(test);
+    private List<Outcome> generate(ParseResult<CompilationUnit> result, Ancestors ancestors) throws Exception {
+        ArrayList<Outcome> outcomes = new ArrayList<Outcome>();
+        Optional<CompilationUnit> unit = result.getResult();
+        if (result.isSuccessful() && unit.isPresent()) {
+            List<ClassOrInterfaceDeclaration> declarations = unit.get().findAll(ClassOrInterfaceDeclaration.class);
+            for (ClassOrInterfaceDeclaration ast : declarations) {
+                if (ast.isInterface() && !ast.isGeneric() && !ast.isNestedType()) {
+                    this.stats.count("interfaces", 1);
+                    Optional<String> fqn = ast.getFullyQualifiedName();
+                    if (fqn.isPresent()) {
+                        try {
+                            outcomes.add(implement(() -> ast.resolve(), ancestors));
+                        } catch (Exception e) {
+                            throw failure(ast, fqn.get(), e);
+                        }
+                    }
                 }
             }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Resolve an interface, implement it and write its files, and record how long each step took.
+     */
+    private Outcome implement(Callable<ResolvedReferenceTypeDeclaration> resolution, Ancestors ancestors) throws Exception {
+        Stats.Clock clock = Stats.clock();
+        ResolvedReferenceTypeDeclaration declaration = resolution.call();
+        long resolved = clock.getNanos();
+        if (!this.configuration.accepts(declaration.getPackageName(), declaration.getQualifiedName())) {
+            this.stats.phase("implement", clock);
+            return new Outcome(false, null, null, declaration.getQualifiedName());
+        }
+        this.stats.count("resolvedTypes", 1);
+        String namespace = this.configuration.rename(declaration.getPackageName());
+        String name = this.configuration.rename(declaration.getPackageName(), declaration.getQualifiedName());
+        Entity entity = new Entity(namespace, name);
+        Entity base = new Entity(declaration);
+        Manifest.Entry entry = null;
+        if (this.manifest != null) {
+            entry = this.manifest.entry(this.fingerprint, declaration);
+            entry.setImplementation(name);
+            Summary summary = new Summary(entity, base);
+            if (entry.getFingerprint().equals(this.manifest.get(declaration.getQualifiedName())) && exists(summary)) {
+                this.stats.unit(declaration.getQualifiedName(), resolved, clock.getNanos() - resolved, clock.getBytes());
+                this.stats.phase("implement", clock);
+                return new Outcome(false, summary, entry, null);
+            }
+        }
+        Implementation implementation = Implementation.create(this.configuration,
+                this.symbols, declaration.asInterface(), entity, base, ancestors);
+        this.stats.unit(declaration.getQualifiedName(), resolved, clock.getNanos() - resolved, clock.getBytes());
+        this.stats.phase("implement", clock);
+        write(implementation);
+        return new Outcome(true, Summary.create(implementation), entry, null);
+    }
+
+    /**
+     * Write the class of an implementation, and its serializers, test and benchmark when enabled.
+     */
+    private void write(Implementation implementation) throws Exception {
+        Stats.Clock clock = Stats.clock();
+        Serializer serializer = null;
+        Deserializer deserializer = null;
+        Test test = null;
+        Benchmark benchmark = null;
+        if (this.configuration.isSerializers()) {
+            serializer = Serializer.create(this.configuration, this.symbols, implementation);
+            deserializer = Deserializer.create(this.configuration, this.symbols, implementation);
+        }
+        if (this.configuration.getTest() != null) {
+            test = Test.create(this.configuration, this.symbols, implementation);
+        }
+        if (this.configuration.getBenchmark() != null) {
+            benchmark = Benchmark.create(this.configuration, this.symbols, implementation);
+        }
+        this.stats.phase("units", clock);
+
+        clock = Stats.clock();
+        render(implementation);
+        if (serializer != null) {
+            render(serializer);
+            render(deserializer);
+        }
+        if (test != null) {
+            render(test);
+        }
+        if (benchmark != null) {
+            render(benchmark);
+        }
+        this.stats.phase("render", clock);
+        this.stats.count("renderedUnits", 1 + ((serializer != null) ? 2 : 0) + ((test != null) ? 1 : 0) + ((benchmark != null) ? 1 : 0));
+    }
+
+    private void count(Ancestors ancestors) {
+        this.stats.count("cachedAncestors", ancestors.getHits());
+        this.stats.count("walkedAncestors", ancestors.getMisses());
+    }
+
+    private File manifest() {
+        return new File(this.configuration.getOutput(), Manifest.FILE);
+    }
+
+    /**
+     * Whether the files generated for an interface by a previous run are still there.
+     */
+    private boolean exists(Summary summary) {
+        File output = Namespaces.file(this.configuration.getOutput(), summary.getNamespace(), summary.getName());
+        if (!output.exists()) {
+            return false;
+        }
+        if (this.configuration.isSerializers()) {
+            File serializer = Namespaces.file(this.configuration.getOutput(), summary.getNamespace(), summary.getName() + Serializer.SUFFIX);
+            File deserializer = Namespaces.file(this.configuration.getOutput(), summary.getNamespace(), summary.getName() + Deserializer.SUFFIX);
+            if (!serializer.exists() || !deserializer.exists()) {
+                return false;
+            }
+        }
+        if (this.configuration.getTest() != null) {
+            File test = Namespaces.file(this.configuration.getTest(), summary.getNamespace(), summary.getName() + Test.SUFFIX);
+            if (!test.exists()) {
+                return false;
+            }
+        }
+        if (this.configuration.getBenchmark() != null) {
+            File benchmark = Namespaces.file(this.configuration.getBenchmark(), summary.getNamespace(), summary.getName() + Benchmark.SUFFIX);
+            if (!benchmark.exists()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Exception failure(ClassOrInterfaceDeclaration ast, String fqn, Exception e) {
+        log.trace("%s\n%s", fqn, ast);
+        if (e instanceof UnsolvedSymbolException) {
+            log.error("Unresolved symbol <%s> in interface %s", ((UnsolvedSymbolException) e).getName(), fqn);
+        } else {
+            log.error("Cannot implement interface %s", fqn);
+        }
+        return e;
+    }
+
+    /**
+     * Write the outputs that span several interfaces: the resolvers and modules of each package, and the service file.
+     */
+    private void process(List<Summary> summaries) throws Exception {
+
+        if (!summaries.isEmpty()) {
+            Stats.Clock clock = Stats.clock();
+            ArrayList<Resolver> resolvers = new ArrayList<Resolver>();
+            ArrayList<Module> modules = new ArrayList<Module>();
+
             if (this.configuration.getResolver() != null) {
-                HashMap<String, List<Implementation>> map = new HashMap<String, List<Implementation>>();
+                HashMap<String, List<Summary>> map = new HashMap<String, List<Summary>>();
 
-                for (Implementation implementation : implementations) {
-                    if (!map.containsKey(implementation.getNamespace())) {
-                        map.put(implementation.getNamespace(), new ArrayList<Implementation>());
+                for (Summary summary : summaries) {
+                    if (!map.containsKey(summary.getNamespace())) {
+                        map.put(summary.getNamespace(), new ArrayList<Summary>());
                     }
-                    map.get(implementation.getNamespace()).add(implementation);
+                    map.get(summary.getNamespace()).add(summary);
                 }
                 for (String namespace : map.keySet()) {
-                    Resolver resolver = Resolver.create(this.configuration, this.symbols, namespace, Implementation.sort(map.get(namespace)));
+                    Resolver resolver = Resolver.create(this.configuration, this.symbols, namespace, Summary.sort(map.get(namespace)));
                     resolvers.add(resolver);
                 }
             }
@@ -183,10 +620,10 @@ public class Generator {
                 }
             }
             Service service = (this.configuration.getResource() != null && modules.size() > 0) ? Service.create(modules) : null;
+            this.stats.phase("units", clock);
+
+            clock = Stats.clock();
 
-            for (Implementation implementation : implementations) {
-                render(implementation);
-            }
             for (Resolver resolver : resolvers) {
                 render(resolver);
             }
@@ -196,31 +633,110 @@ public class Generator {
             if (service != null) {
                 render(service);
             }
-            for (Test test : tests) {
-                render(test);
-            }
+            this.stats.phase("render", clock);
+            this.stats.count("renderedUnits", resolvers.size() + modules.size() + ((service != null) ? 1 : 0));
         }
     }
 
-    private void write(File output, String content) throws Exception {
+    /**
+     * Something that renders the content of a generated file.
+     */
+    private interface Content {
+        void render(Writer writer) throws Exception;
+    }
+
+    /**
+     * Write a generated file, unless it already exists with the exact same content. Leaving identical files untouched
+     * keeps their modification time, so that the build of the generated code does not recompile them.
+     *
+     * <p>
+     *     The content is streamed to a temporary file of a unique name next to the output file, which is then
+     *     compared with the existing file, and atomically moved in place if it differs. The content of a file is never
+     *     fully held in memory.
+     * </p>
+     */
+    private void write(File output, Content content) throws Exception {
         FileUtils.forceMkdirParent(output);
-        try (BufferedWriter writer = Files.newBufferedWriter(output.toPath(), this.configuration.getEncoding())) {
-            writer.write(content);
+        Path temporary = Files.createTempFile(output.getParentFile().toPath(), "." + output.getName() + ".", ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, this.configuration.getEncoding())) {
+                content.render(writer);
+            }
+            if (identical(output, temporary.toFile())) {
+                this.identical.incrementAndGet();
+            } else {
+                permit(temporary, output);
+                Files.move(temporary, output.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                this.written.incrementAndGet();
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Temporary files are only readable by their owner: give the content the permissions of the file it replaces, or
+     * the usual ones of a new source file.
+     */
+    private static void permit(Path temporary, File output) throws IOException {
+        if (temporary.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Set<PosixFilePermission> permissions = output.isFile() ? Files.getPosixFilePermissions(output.toPath()) :
+                    PosixFilePermissions.fromString("rw-r--r--");
+            Files.setPosixFilePermissions(temporary, permissions);
+        }
+    }
+
+    /**
+     * Compare the length first, then stream both files chunk by chunk, and stop at the first difference.
+     */
+    private static boolean identical(File output, File temporary) throws IOException {
+        if (!output.isFile() || (output.length() != temporary.length())) {
+            return false;
+        }
+        ByteBuffer left = ByteBuffer.allocate(BUFFER);
+        ByteBuffer right = ByteBuffer.allocate(BUFFER);
+        try (FileChannel a = FileChannel.open(output.toPath(), StandardOpenOption.READ);
+             FileChannel b = FileChannel.open(temporary.toPath(), StandardOpenOption.READ)) {
+            while (true) {
+                left.clear();
+                right.clear();
+                int read = fill(a, left);
+                if (read != fill(b, right)) {
+                    return false;
+                }
+                if (read == 0) {
+                    return true;
+                }
+                left.flip();
+                right.flip();
+                if (!left.equals(right)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private static int fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
         }
+        return buffer.position();
     }
 
     /**
-     * <p>Special case of {@link #write(File, String)} where we need to append the output file properly.</p>
+     * <p>Special case of {@link #write(File, Content)} where we need to append the output file properly.</p>
      *
      * <p>
-     *     Current {@link #write(File, String)} implementation always rewrite generated files. This is Ok for most cases,
+     *     Current {@link #write(File, Content)} implementation always rewrite generated files. This is Ok for most cases,
      *     but causing a problem for shared files between multiple sources.
      * </p>
      *
      * <p>
      *     Example: {@link #render(Service)} use {@code com.fasterxml.jackson.databind.Module} file to put all module(s)
      *     from any sources/project. For example, {@code killbill-api} and {@code killbill-plugin-api} will use this
-     *     file together. Using just {@link #write(File, String)} lead a problem like explained in
+     *     file together. Using just {@link #write(File, Content)} lead a problem like explained in
      *     <a href="https://github.com/killbill/api-pojos/issues/12">this issue</a> .
      * </p>
      */
@@ -229,37 +745,43 @@ public class Generator {
         if (outputExist) {
             final List<String> contentList = List.of(content.split(System.lineSeparator()));
             final List<String> outputContentList = FileUtils.readLines(output, this.configuration.getEncoding());
+            final List<String> appendList = new ArrayList<String>();
+            for (final String contentLine : contentList) {
+                if (!outputContentList.contains(contentLine)) {
+                    appendList.add(contentLine);
+                }
+            }
+            if (appendList.isEmpty()) {
+                this.identical.incrementAndGet();
+                return;
+            }
             try (final BufferedWriter writer = Files.newBufferedWriter(output.toPath(), configuration.getEncoding(), StandardOpenOption.APPEND)) {
-                for (final String contentLine : contentList) {
-                    if (!outputContentList.contains(contentLine)) {
-                        writer.write(contentLine);
-                        writer.newLine();
-                    }
+                for (final String contentLine : appendList) {
+                    writer.write(contentLine);
+                    writer.newLine();
                 }
             }
+            this.written.incrementAndGet();
         } else {
-            write(output, content);
+            write(output, (writer) -> writer.write(content));
         }
     }
 
 
     private void render(Implementation implementation) throws Exception {
         File output = Namespaces.file(this.configuration.getOutput(), implementation.getNamespace(), implementation.getName());
-        String content = this.configuration.getTemplates().render(implementation);
-        write(output, content);
+        write(output, (writer) -> this.configuration.getTemplates().render(implementation, writer));
         log.trace(implementation, output);
     }
 
     private void render(Resolver resolver) throws Exception {
         File output = Namespaces.file(this.configuration.getOutput(), resolver.getNamespace(), resolver.getName());
-        String content = this.configuration.getTemplates().render(resolver);
-        write(output, content);
+        write(output, (writer) -> this.configuration.getTemplates().render(resolver, writer));
     }
 
     private void render(Module module) throws Exception {
         File output = Namespaces.file(this.configuration.getOutput(), module.getNamespace(), module.getName());
-        String content = this.configuration.getTemplates().render(module);
-        write(output, content);
+        write(output, (writer) -> this.configuration.getTemplates().render(module, writer));
     }
 
     private void render(Service service) throws Exception {
@@ -268,26 +790,59 @@ public class Generator {
         writeOrAppend(output, content);
     }
 
+    private void render(Serializer serializer) throws Exception {
+        File output = Namespaces.file(this.configuration.getOutput(), serializer.getNamespace(), serializer.getName());
+        write(output, (writer) -> this.configuration.getTemplates().render(serializer, writer));
+    }
+
+    private void render(Deserializer deserializer) throws Exception {
+        File output = Namespaces.file(this.configuration.getOutput(), deserializer.getNamespace(), deserializer.getName());
+        write(output, (writer) -> this.configuration.getTemplates().render(deserializer, writer));
+    }
+
     private void render(Test test) throws Exception {
         File output = Namespaces.file(this.configuration.getTest(), test.getNamespace(), test.getName());
-        String content = this.configuration.getTemplates().render(test);
-        write(output, content);
+        write(output, (writer) -> this.configuration.getTemplates().render(test, writer));
     }
 
-    private void showSummary(List<String> skipped, List<Implementation> implementations) {
-        if (!skipped.isEmpty() || !implementations.isEmpty()) {
+    private void render(Benchmark benchmark) throws Exception {
+        File output = Namespaces.file(this.configuration.getBenchmark(), benchmark.getNamespace(), benchmark.getName());
+        write(output, (writer) -> this.configuration.getTemplates().render(benchmark, writer));
+    }
+
+    private void showStats() throws IOException {
+        if (this.configuration.isStats()) {
+            log.info(this.stats);
+        }
+        if (this.configuration.getStatsFile() != null) {
+            this.stats.write(this.configuration.getStatsFile());
+        }
+    }
+
+    private void showSummary(List<String> skipped, List<Summary> unchanged, List<Summary> implemented) {
+        if (!skipped.isEmpty() || !unchanged.isEmpty() || !implemented.isEmpty()) {
             StringBuilder s = new StringBuilder();
             s.append("  > Summary\n\n");
             for (String name : skipped) {
                 s.append(String.format("    > [SKIPPED] %s\n", name));
             }
             s.append("\n");
-            for (Implementation implementation : implementations) {
-                File output = Namespaces.file(this.configuration.getOutput(), implementation.getNamespace(), implementation.getName());
-                s.append(String.format("    > [IMPLEMENTED] %s\n", implementation.getBase()));
-                s.append(String.format("        as %s\n", implementation.getName()));
+            if (!unchanged.isEmpty()) {
+                for (Summary summary : unchanged) {
+                    s.append(String.format("    > [UNCHANGED] %s\n", summary.getBase()));
+                }
+                s.append("\n");
+            }
+            for (Summary summary : implemented) {
+                File output = Namespaces.file(this.configuration.getOutput(), summary.getNamespace(), summary.getName());
+                s.append(String.format("    > [IMPLEMENTED] %s\n", summary.getBase()));
+                s.append(String.format("        as %s\n", summary.getName()));
                 s.append(String.format("        at %s\n\n", output));
             }
+            if (this.written.get() + this.identical.get() > 0) {
+                s.append(String.format("    > %d file(s) written, %d file(s) unchanged and left untouched\n",
+                        this.written.get(), this.identical.get()));
+            }
             log.info(s);
         }
     }
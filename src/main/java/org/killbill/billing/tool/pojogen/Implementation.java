@@ -36,20 +36,27 @@ public class Implementation extends Unit {
     private final ResolvedInterfaceDeclaration declaration;
     private final List<Method> methods;
     private final List<Property> properties;
+    private final List<Property> equalities;
     private final List<Type> exceptions;
     private final Entity base;
     private final Entity builder;
+    private final boolean immutable;
+    private final String hash;
 
     private Implementation(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
                            ResolvedInterfaceDeclaration declaration, Entity base, Entity builder,
-                           List<Property> properties, List<Method> methods, List<Type> exceptions) {
+                           List<Property> properties, List<Method> methods, List<Type> exceptions,
+                           boolean immutable, String hash) {
         super(entity, imports, mapping, symbols);
         this.declaration = declaration;
         this.base = base;
         this.builder = builder;
         this.properties = properties;
+        this.equalities = Property.sortByCost(properties);
         this.methods = methods;
         this.exceptions = exceptions;
+        this.immutable = immutable;
+        this.hash = hash;
     }
 
     public ResolvedInterfaceDeclaration getInterfaceDeclaration() {
@@ -72,10 +79,48 @@ public class Implementation extends Unit {
         return this.properties;
     }
 
+    /**
+     * The properties in the order {@code equals()} compares them.
+     */
+    public List<Property> getEqualities() {
+        return this.equalities;
+    }
+
     public List<Type> getExceptions() {
         return this.exceptions;
     }
 
+    /**
+     * An estimate of the length of the text returned by the generated {@code toString()}, from the names of the
+     * properties and the typical width of their values.
+     */
+    public int getToStringCapacity() {
+        int capacity = this.moniker.length() + "{}".length();
+        for (int i = 0; i < this.properties.size(); i++) {
+            Property property = this.properties.get(i);
+            if (i > 0) {
+                capacity += ", ".length();
+            }
+            capacity += property.getName().length() + "=".length() + property.getType().getWidth();
+            if (property.getType().isString()) {
+                capacity += "''".length();
+            }
+        }
+        return capacity;
+    }
+
+    public boolean isImmutable() {
+        return this.immutable;
+    }
+
+    /**
+     * The field caching the hash code of an immutable POJO, named so as not to hide a property, {@code null} when
+     * the POJO is mutable.
+     */
+    public String getHash() {
+        return this.hash;
+    }
+
     public String getUid() {
         long uid = 0;
         try {
@@ -123,8 +168,17 @@ public class Implementation extends Unit {
 
     public static Implementation create(Configuration configuration,
                                         Symbols symbols, ResolvedInterfaceDeclaration declaration, Entity entity, Entity base) {
-        symbols = new Symbols(symbols);
-        List<MethodUsage> usages = filter(Method.unique(traverse(declaration)));
+        return create(configuration, symbols, declaration, entity, base, new Ancestors());
+    }
+
+    /**
+     * Implement an interface, reusing the methods of the ancestors already walked for other interfaces.
+     */
+    public static Implementation create(Configuration configuration,
+                                        Symbols symbols, ResolvedInterfaceDeclaration declaration, Entity entity, Entity base,
+                                        Ancestors ancestors) {
+        symbols = symbols.scope();
+        List<MethodUsage> usages = filter(Method.unique(traverse(declaration, ancestors)));
         for (MethodUsage usage : usages) {
             // symbols.add(usage.getName());
         }
@@ -148,7 +202,8 @@ public class Implementation extends Unit {
         symbols = importer.getSymbols();
         HashMap<String, String> fields = new HashMap<String, String>();
 
-        for (String id : Property.possible(usages)) {
+        List<Property.Accessor> accessors = Property.Accessor.classify(usages);
+        for (String id : Property.possible(accessors)) {
             if (!fields.containsKey(id)) {
                 int attempts = 0;
                 while (true) {
@@ -161,8 +216,19 @@ public class Implementation extends Unit {
                 }
             }
         }
+        String hash = null;
+        if (configuration.isImmutable()) {
+            int attempts = 0;
+            while (true) {
+                String field = newField("hashCode", attempts++);
+                if (!symbols.contains(field) && !fields.containsValue(field)) {
+                    hash = field;
+                    break;
+                }
+            }
+        }
         ArrayList<MethodUsage> rest = new ArrayList<MethodUsage>();
-        List<Property> properties = Property.create(configuration, usages, fields, mapping, symbols, rest);
+        List<Property> properties = Property.create(configuration, accessors, fields, mapping, symbols, rest);
         ArrayList<Method> methods = new ArrayList<Method>();
         for (MethodUsage usage : rest) {
             methods.add(Method.create(configuration, usage, mapping, symbols));
@@ -193,7 +259,8 @@ public class Implementation extends Unit {
         }
         return new Implementation(entity, imports, mapping, symbols,
                 declaration, base, builder,
-                properties, methods, Type.sort(exceptions));
+                properties, methods, Type.sort(exceptions),
+                configuration.isImmutable(), hash);
 
     }
 
@@ -219,38 +286,20 @@ public class Implementation extends Unit {
         return usages;
     }
 
-    private static List<MethodUsage> traverse(ResolvedInterfaceDeclaration declaration) {
+    private static List<MethodUsage> traverse(ResolvedInterfaceDeclaration declaration, Ancestors ancestors) {
         ArrayList<MethodUsage> usages = new ArrayList<MethodUsage>();
-        Stack<ResolvedReferenceType> generations = new Stack<ResolvedReferenceType>();
         for (ResolvedMethodDeclaration method : declaration.getDeclaredMethods()) {
             if (!method.isDefaultMethod() && !method.isStatic()) {
                 usages.add(new MethodUsage(method));
             }
         }
         for (ResolvedReferenceType ancestor : declaration.getAncestors()) {
-            traverse(usages, push(generations, ancestor));
+            usages.addAll(ancestors.get(ancestor));
         }
         return usages;
     }
 
-    private static void traverse(List<MethodUsage> usages, Stack<ResolvedReferenceType> generations) {
-        ResolvedReferenceType type = generations.peek();
-        Optional<ResolvedReferenceTypeDeclaration> declaration = type.getTypeDeclaration();
-        if (declaration.isPresent()) {
-            if (declaration.get().isInterface()) {
-                for (MethodUsage method : type.getDeclaredMethods()) {
-                    if (!method.getDeclaration().isDefaultMethod() && !method.getDeclaration().isStatic()) {
-                        usages.add(Type.specialize(method, type));
-                    }
-                }
-                for (ResolvedReferenceType ancestor : declaration.get().getAncestors()) {
-                    traverse(usages, push(generations, Type.specialize(ancestor, type)));
-                }
-            }
-        }
-    }
-
-    private static void gather(MethodUsage method, List<ResolvedType> types) {
+    static void gather(MethodUsage method, List<ResolvedType> types) {
         ResolvedMethodDeclaration declaration = method.getDeclaration();
         if (declaration.isGeneric()) {
             List<ResolvedTypeParameterDeclaration> declarations = declaration.getTypeParameters();
@@ -280,7 +329,7 @@ public class Implementation extends Unit {
         }
     }
 
-    private static void gather(ResolvedType type, List<ResolvedType> types) {
+    static void gather(ResolvedType type, List<ResolvedType> types) {
         types.add(type);
         if (type.isReferenceType()) {
             ResolvedReferenceType reference = type.asReferenceType();
@@ -308,15 +357,6 @@ public class Implementation extends Unit {
         }
     }
 
-    private static Stack<ResolvedReferenceType> push(Stack<ResolvedReferenceType> source, ResolvedReferenceType type) {
-        Stack<ResolvedReferenceType> stack = new Stack<ResolvedReferenceType>();
-        for (ResolvedReferenceType item : source) {
-            stack.add(item);
-        }
-        stack.add(type);
-        return stack;
-    }
-
     public static String newField(String name, int attempts) {
         name = Character.toLowerCase(name.charAt(0)) + name.substring(1);
         if (attempts == 0) {
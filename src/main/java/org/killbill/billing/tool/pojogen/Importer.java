@@ -26,14 +26,32 @@ public class Importer {
 
     private static final Log log = new Log(Importer.class);
 
+    /**
+     * The outcome of {@link #resolve(Map, Set, Set, Set, Map)} for the entities added so far. It is computed once, on
+     * first use, and dropped when a new entity is added. Its mapping and symbols are frozen, and handed out as new
+     * scopes over them.
+     */
+    private static class Resolution {
+        private final List<String> imports;
+        private final Mapping mapping;
+        private final Symbols symbols;
+
+        private Resolution(List<String> imports, Mapping mapping, Symbols symbols) {
+            this.imports = Collections.unmodifiableList(imports);
+            this.mapping = mapping.freeze();
+            this.symbols = symbols.freeze();
+        }
+    }
+
     private final Symbols symbols;
     private final Entity entity;
     private final Map<String, Entity> entities;
     private final Set<String> namespaces;
+    private Resolution resolution;
 
     public Importer(Entity entity, Symbols symbols) {
         this.entity = entity;
-        this.symbols = new Symbols(symbols);
+        this.symbols = symbols.scope();
         this.entities = new HashMap<String, Entity>();
         this.namespaces = new HashSet<String>();
         this.namespaces.add("java.lang");
@@ -48,6 +66,7 @@ public class Importer {
     public void add(String namespace, String name) {
         if (!this.entities.containsKey(name)) {
             this.entities.put(name, new Entity(namespace, name));
+            this.resolution = null;
         }
     }
 
@@ -73,27 +92,30 @@ public class Importer {
         }
     }
 
+    private Resolution resolution() {
+        if (this.resolution == null) {
+            HashSet<String> imports = new HashSet<String>();
+            Mapping mapping = new Mapping();
+            resolve(this.entities, this.namespaces, this.symbols, imports, mapping);
+            List<String> list = new ArrayList<String>(imports);
+            Collections.sort(list);
+            Symbols symbols = this.symbols.scope();
+            symbols.addAll(mapping.values());
+            this.resolution = new Resolution(list, mapping, symbols);
+        }
+        return this.resolution;
+    }
+
     public List<String> getImports() {
-        HashSet<String> imports = new HashSet<String>();
-        HashMap<String, String> mapping = new HashMap<String, String>();
-        resolve(this.entities, this.namespaces, this.symbols, imports, mapping);
-        List<String> list = new ArrayList<String>(imports);
-        Collections.sort(list);
-        return list;
+        return new ArrayList<String>(resolution().imports);
     }
 
     public Symbols getSymbols() {
-        HashSet<String> imports = new HashSet<String>();
-        HashMap<String, String> mapping = new HashMap<String, String>();
-        resolve(this.entities, this.namespaces, this.symbols, imports, mapping);
-        return Symbols.union(this.symbols, new Symbols(mapping.values()));
+        return resolution().symbols.scope();
     }
 
     public Mapping getMapping() {
-        HashSet<String> imports = new HashSet<String>();
-        HashMap<String, String> mapping = new HashMap<String, String>();
-        resolve(this.entities, this.namespaces, this.symbols, imports, mapping);
-        return new Mapping(mapping);
+        return resolution().mapping.scope();
     }
 
     public void addJavaDefaults() {
@@ -102,10 +124,7 @@ public class Importer {
 
     @Override
     public String toString() {
-        HashSet<String> imports = new HashSet<String>();
-        HashMap<String, String> mapping = new HashMap<String, String>();
-        resolve(this.entities, this.namespaces, this.symbols, imports, mapping);
-        return toString(imports, mapping, Symbols.union(this.symbols, new Symbols(mapping.values())));
+        return toString(new HashSet<String>(resolution().imports), resolution().mapping, getSymbols());
     }
 
     private static Map<String, Map<String, List<Entity>>> partition(Map<String, Entity> entities) {
@@ -79,6 +79,52 @@ public class Main implements Callable<Integer> {
                           "  ./killbill-plugin-framework-java/src/test/java")
     private String test;
 
+    @Option(names = "--output-benchmark",
+            description = "Top Level directory of generated JMH benchmarks location. Example:\n" +
+                          "  ./killbill-plugin-framework-java/src/jmh/java")
+    private String benchmark;
+
+    @Option(names = "--immutable",
+            description = "Generate POJOs with final fields, setters that throw, and a hash code computed once.")
+    private boolean immutable;
+
+    @Option(names = "--serializers",
+            description = "Generate a Jackson serializer and deserializer for each POJO, registered by the modules.")
+    private boolean serializers;
+
+    @Option(names = "--warm-up",
+            description = "Generate modules with a warmUp(ObjectMapper) method that builds the serializers and deserializers\n" +
+                    "of their POJOs and returns the nanoseconds spent. Call it once every module is registered.")
+    private boolean warmUp;
+
+    @Option(names = "--threads",
+            description = "Number of worker threads used to resolve interfaces and build their implementations.\n" +
+                          "  Default value: 1")
+    private Integer threads;
+
+    @Option(names = "--parse-threads",
+            description = "Number of threads used to parse the source files.\n" +
+                          "  Default value: 1")
+    private Integer parseThreads;
+
+    @Option(names = "--incremental",
+            description = "Only generate again the interfaces whose source, ancestors, settings or templates changed " +
+                          "since the last incremental run.")
+    private boolean incremental;
+
+    @Option(names = "--stats",
+            description = "Print the time and memory spent in each phase of the generation, and the slowest interfaces.")
+    private boolean stats;
+
+    @Option(names = "--stats-file",
+            description = "Write the timings, allocations and counters of the generation to this JSON file.")
+    private String statsFile;
+
+    @Option(names = "--watch",
+            description = "Keep running after the first generation, and generate again when a source file changes. " +
+                          "Implies --incremental.")
+    private boolean watch;
+
     @Parameters(arity = "0..1", paramLabel = "config.xml", description = "Specify the location of the XML configuration file.")
     private List<File> location;
 
@@ -138,6 +184,15 @@ public class Main implements Callable<Integer> {
             settingsLoader.overrideOutputSubpackageDirectory(outputSubPackage);
             settingsLoader.overrideOutputResourcesDirectory(outputResources);
             settingsLoader.overrideOutputTestDirectory(test);
+            settingsLoader.overrideOutputBenchmarkDirectory(benchmark);
+            settingsLoader.overrideImmutable(immutable);
+            settingsLoader.overrideSerializers(serializers);
+            settingsLoader.overrideWarmUp(warmUp);
+            settingsLoader.overrideThreads(threads);
+            settingsLoader.overrideParseThreads(parseThreads);
+            settingsLoader.overrideIncremental(incremental || watch);
+            settingsLoader.overrideStats(stats);
+            settingsLoader.overrideStatsFile(statsFile);
 
             settings = settingsLoader.getSettings();
         } catch (Exception e) {
@@ -150,11 +205,14 @@ public class Main implements Callable<Integer> {
 
         log.trace("Settings: %s\n%s", this.location, settings);
         Charset encoding = StandardCharsets.UTF_8;
-        Templates templates = new Templates(encoding, Resources.class, "/templates");
-        Configuration configuration = new Configuration(encoding, templates, settings);
         try {
+            Templates templates = Templates.shared(encoding, Resources.class, "/templates");
+            Configuration configuration = new Configuration(encoding, templates, settings);
             Generator generator = new Generator(configuration);
             generator.run();
+            if (this.watch) {
+                new Watcher(configuration, generator).run();
+            }
         } catch (Exception e) {
             log.error("Error when running generator: " + e);
             if (verbose) {
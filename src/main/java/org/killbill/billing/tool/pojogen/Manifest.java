@@ -0,0 +1,391 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.MethodUsage;
+import com.github.javaparser.resolution.declarations.AssociableToAST;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>What the last incremental run generated from each source file, stored in the output directory.</p>
+ *
+ * <p>
+ *     For each source file, the manifest keeps the hash of the file, and for each interface it declares, the names
+ *     of the interface and of its generated class, its fingerprint, and the hashes of the source files it depends
+ *     on. The fingerprint of an interface covers the settings and templates of the run, the source file of the
+ *     interface, the name and source file of each of its transitive ancestors, and the name and source file of each
+ *     type used by its methods and theirs, such as enums and type arguments. Types that come from jars or from the
+ *     JDK only contribute their name.
+ * </p>
+ *
+ * <p>
+ *     A source file that did not change, and whose interfaces depend on files that did not change either, does not
+ *     need to be parsed or resolved again: its interfaces are known from the manifest. Other files are parsed, and
+ *     their interfaces are only generated again when their fingerprint changed.
+ * </p>
+ */
+public class Manifest {
+
+    static final String FILE = ".pojogen-manifest.json";
+
+    private static final Log log = new Log(Manifest.class);
+
+    /**
+     * An interface generated from a source file.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        private String name;
+        private String namespace;
+        private String implementation;
+        private String fingerprint;
+        private Map<String, String> dependencies;
+
+        public Entry() {
+            this.dependencies = new TreeMap<String, String>();
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getNamespace() {
+            return this.namespace;
+        }
+
+        public void setNamespace(String namespace) {
+            this.namespace = namespace;
+        }
+
+        public String getImplementation() {
+            return this.implementation;
+        }
+
+        public void setImplementation(String implementation) {
+            this.implementation = implementation;
+        }
+
+        public String getFingerprint() {
+            return this.fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * The hashes of the source files the interface depends on, by path. The hashes are kept here rather than
+         * looked up in the files of the manifest, which only has the files a run visited: with targeted parsing, the
+         * source files of ancestors outside the accepted packages are never visited.
+         */
+        public Map<String, String> getDependencies() {
+            return this.dependencies;
+        }
+
+        public void setDependencies(Map<String, String> dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * The generated class and the interface it implements.
+         */
+        public Summary toSummary() {
+            return new Summary(new Entity(Namespaces.namespace(this.implementation, Namespaces.moniker(this.implementation)),
+                    this.implementation), new Entity(this.namespace, this.name));
+        }
+    }
+
+    /**
+     * A source file, and the interfaces found in it, in their order of declaration.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Source {
+        private String hash;
+        private List<Entry> interfaces;
+        private List<String> skipped;
+
+        public Source() {
+            this.interfaces = new ArrayList<Entry>();
+            this.skipped = new ArrayList<String>();
+        }
+
+        public String getHash() {
+            return this.hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public List<Entry> getInterfaces() {
+            return this.interfaces;
+        }
+
+        public void setInterfaces(List<Entry> interfaces) {
+            this.interfaces = interfaces;
+        }
+
+        public List<String> getSkipped() {
+            return this.skipped;
+        }
+
+        public void setSkipped(List<String> skipped) {
+            this.skipped = skipped;
+        }
+    }
+
+    /**
+     * The content of the manifest file.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Content {
+        private String fingerprint;
+        private Map<String, Source> files;
+
+        public Content() {
+            this.files = new TreeMap<String, Source>();
+        }
+
+        public String getFingerprint() {
+            return this.fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public Map<String, Source> getFiles() {
+            return this.files;
+        }
+
+        public void setFiles(Map<String, Source> files) {
+            this.files = files;
+        }
+    }
+
+    private final Content previous;
+    private final Map<String, Entry> entries;
+    private final Map<String, Source> next;
+    private final Map<String, String> hashes;
+
+    public Manifest() {
+        this(new Content());
+    }
+
+    private Manifest(Content previous) {
+        this.previous = previous;
+        this.entries = new HashMap<String, Entry>();
+        for (Source source : previous.getFiles().values()) {
+            for (Entry entry : source.getInterfaces()) {
+                this.entries.put(entry.getName(), entry);
+            }
+        }
+        this.next = new ConcurrentHashMap<String, Source>();
+        this.hashes = new ConcurrentHashMap<String, String>();
+    }
+
+    /**
+     * The fingerprint of an interface in the last run.
+     */
+    public String get(String name) {
+        Entry entry = this.entries.get(name);
+        return (entry == null) ? null : entry.getFingerprint();
+    }
+
+    /**
+     * What the last run found in a source file, if neither the file, the source files its interfaces depend on, nor
+     * the settings and templates changed since.
+     */
+    public Source get(String global, Path file) {
+        if (global == null || !global.equals(this.previous.getFingerprint())) {
+            return null;
+        }
+        String path = key(file);
+        Source source = this.previous.getFiles().get(path);
+        if (source == null || !Objects.equals(source.getHash(), hash(path))) {
+            return null;
+        }
+        for (Entry entry : source.getInterfaces()) {
+            for (Map.Entry<String, String> dependency : entry.getDependencies().entrySet()) {
+                if (!Objects.equals(dependency.getValue(), hash(dependency.getKey()))) {
+                    return null;
+                }
+            }
+        }
+        return source;
+    }
+
+    /**
+     * Record what this run found in a source file. Safe to call from several workers.
+     */
+    public void put(Path file, Source source) {
+        String path = key(file);
+        source.setHash(hash(path));
+        this.next.put(path, source);
+    }
+
+    /**
+     * The entry of an interface for this run: its fingerprint and the source files of its ancestors and of the types
+     * its methods use. Source files are only hashed once per run, so this is safe to call from several workers.
+     */
+    public Entry entry(String global, ResolvedReferenceTypeDeclaration declaration) {
+        Digest digest = new Digest();
+        TreeMap<String, String> dependencies = new TreeMap<String, String>();
+        ArrayList<ResolvedType> types = new ArrayList<ResolvedType>();
+        digest.add(global);
+        digest.add(declaration.getQualifiedName());
+        digest.add(hash(path(declaration)));
+        for (ResolvedMethodDeclaration method : declaration.getDeclaredMethods()) {
+            Implementation.gather(new MethodUsage(method), types);
+        }
+        for (ResolvedReferenceType ancestor : declaration.getAllAncestors()) {
+            digest.add(ancestor.describe());
+            Optional<ResolvedReferenceTypeDeclaration> optional = ancestor.getTypeDeclaration();
+            if (optional.isPresent()) {
+                String path = path(optional.get());
+                digest.add(hash(path));
+                if (path != null) {
+                    dependencies.put(path, hash(path));
+                }
+            }
+            for (MethodUsage method : ancestor.getDeclaredMethods()) {
+                Implementation.gather(method, types);
+            }
+        }
+        // Enums, value classes and type arguments of the properties shape the generated code as well
+        TreeMap<String, String> used = new TreeMap<String, String>();
+        for (ResolvedType type : types) {
+            if (type.isReferenceType()) {
+                Optional<ResolvedReferenceTypeDeclaration> optional = type.asReferenceType().getTypeDeclaration();
+                if (optional.isPresent()) {
+                    used.put(optional.get().getQualifiedName(), path(optional.get()));
+                }
+            }
+        }
+        for (Map.Entry<String, String> type : used.entrySet()) {
+            digest.add(type.getKey());
+            digest.add(hash(type.getValue()));
+            if (type.getValue() != null) {
+                dependencies.put(type.getValue(), hash(type.getValue()));
+            }
+        }
+        Entry entry = new Entry();
+        entry.setName(declaration.getQualifiedName());
+        entry.setNamespace(declaration.getPackageName());
+        entry.setFingerprint(digest.hex());
+        entry.setDependencies(dependencies);
+        return entry;
+    }
+
+    private static String path(ResolvedReferenceTypeDeclaration declaration) {
+        if (declaration instanceof AssociableToAST) {
+            Optional<?> ast = ((AssociableToAST<?>) declaration).toAst();
+            if (ast.isPresent()) {
+                Optional<CompilationUnit> unit = ((Node) ast.get()).findCompilationUnit();
+                if (unit.isPresent() && unit.get().getStorage().isPresent()) {
+                    return key(unit.get().getStorage().get().getPath());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String key(Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * The hash of a source file, or {@code null} when there is no file, computed once per run.
+     */
+    private String hash(String path) {
+        if (path == null) {
+            return null;
+        }
+        return this.hashes.computeIfAbsent(path, (key) -> {
+            File file = new File(key);
+            if (!file.isFile()) {
+                return "";
+            }
+            try {
+                return new Digest().add(file).hex();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Write the files recorded by this run, along with the fingerprint of the settings and templates. The manifest is
+     * written to a temporary file of a unique name next to it, then atomically moved in place, so that a run that is
+     * stopped while writing it leaves the previous manifest rather than a truncated one.
+     */
+    public void write(File file, String global) throws IOException {
+        Content content = new Content();
+        content.setFingerprint(global);
+        content.setFiles(new TreeMap<String, Source>(this.next));
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        FileUtils.forceMkdirParent(file);
+        Path temporary = Files.createTempFile(file.getParentFile().toPath(), file.getName() + ".", ".tmp");
+        try {
+            mapper.writeValue(temporary.toFile(), content);
+            Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static Manifest read(File file) {
+        if (file.exists()) {
+            try {
+                ObjectMapper mapper = new ObjectMapper();
+                return new Manifest(mapper.readValue(file, Content.class));
+            } catch (IOException e) {
+                log.warn("Cannot read manifest <%s>, all interfaces will be generated: %s", file, e.getMessage());
+            }
+        }
+        return new Manifest();
+    }
+}
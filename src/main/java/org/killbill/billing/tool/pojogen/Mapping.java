@@ -16,18 +16,44 @@
 
 package org.killbill.billing.tool.pojogen;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-public class Mapping extends HashMap<String, String> {
+/**
+ * <p>Names of types, as they are written in a unit: simple names when imported, qualified names otherwise, and the
+ * names given to type parameters.</p>
+ *
+ * <p>
+ *     A mapping is a persistent structure: {@link #scope()} returns a new mapping layered over this one, which only
+ *     holds the names put in the scope, such as the type parameters of a method. Once scoped or {@link #freeze()
+ *     frozen}, a mapping can no longer be changed, so the model objects sharing it (types, parameters, methods) do
+ *     not need a copy of their own.
+ * </p>
+ */
+public class Mapping extends AbstractMap<String, String> {
 
     private static final Log log = new Log(Mapping.class);
 
+    private final Mapping parent;
+    private Map<String, String> delta;
+    private boolean frozen;
+
     public Mapping() {
+        this.parent = null;
     }
 
     public Mapping(Map<String, String> source) {
-        super(source);
+        this.parent = null;
+        this.delta = new HashMap<String, String>(source);
+    }
+
+    private Mapping(Mapping parent) {
+        this.parent = parent;
     }
 
     public String resolve(Entity entity) {
@@ -35,14 +61,90 @@ public class Mapping extends HashMap<String, String> {
     }
 
     public String resolve(String key) {
-        if (!containsKey(key)) {
-            return key;
+        for (Mapping mapping = this; mapping != null; mapping = mapping.parent) {
+            if (mapping.delta != null) {
+                String value = mapping.delta.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return key;
+    }
+
+    @Override
+    public String get(Object key) {
+        for (Mapping mapping = this; mapping != null; mapping = mapping.parent) {
+            if (mapping.delta != null) {
+                String value = mapping.delta.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("Mapping is frozen, put '" + key + "' in a new scope.");
+        }
+        String previous = get(key);
+        if (this.delta == null) {
+            this.delta = new HashMap<String, String>();
+        }
+        this.delta.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return flatten().entrySet();
+    }
+
+    /**
+     * A new, empty, mapping layered over this one, which is frozen. Names put in the new mapping hide the same names
+     * of this one.
+     */
+    public Mapping scope() {
+        this.frozen = true;
+        Mapping base = this;
+        while (base.parent != null && base.delta == null) {
+            base = base.parent;
+        }
+        return new Mapping(base);
+    }
+
+    /**
+     * This mapping, which can no longer be changed, to be shared by objects that keep it.
+     */
+    public Mapping freeze() {
+        this.frozen = true;
+        return this;
+    }
+
+    private Map<String, String> flatten() {
+        ArrayList<Mapping> chain = new ArrayList<Mapping>();
+        for (Mapping mapping = this; mapping != null; mapping = mapping.parent) {
+            chain.add(mapping);
+        }
+        HashMap<String, String> map = new HashMap<String, String>();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            if (chain.get(i).delta != null) {
+                map.putAll(chain.get(i).delta);
+            }
         }
-        return get(key);
+        return Collections.unmodifiableMap(map);
     }
 
     public Mapping clone() {
-        return new Mapping(this);
+        return new Mapping(this.flatten());
     }
 
     public Symbols getSymbols() {
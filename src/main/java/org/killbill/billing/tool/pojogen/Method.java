@@ -45,7 +45,7 @@ public class Method {
             this.type = type;
             this.name = name;
             this.variadic = variadic;
-            this.mapping = new Mapping(mapping);
+            this.mapping = mapping.freeze();
         }
 
         public boolean isVariadic() {
@@ -113,7 +113,7 @@ public class Method {
         this.name = name;
         this.parameters = parameters;
         this.exceptions = exceptions;
-        this.mapping = new Mapping(mapping);
+        this.mapping = mapping.freeze();
     }
 
     public List<Annotation> getAnnotations() {
@@ -181,8 +181,8 @@ public class Method {
 
     public static Method create(Configuration configuration, MethodUsage usage, Mapping mapping, Symbols symbols) {
         if (usage != null) {
-            mapping = new Mapping(mapping);
-            symbols = new Symbols(symbols);
+            mapping = mapping.scope();
+            symbols = symbols.scope();
             ResolvedMethodDeclaration declaration = usage.getDeclaration();
             if (declaration.isGeneric()) {
                 if (!declaration.getTypeParameters().isEmpty()) {
@@ -297,8 +297,12 @@ public class Method {
         }
     }
 
+    /**
+     * One method by signature, sorted by signature: the methods declared by an interface come in no particular
+     * order, and would otherwise be written in a different order from one run to the next.
+     */
     public static List<MethodUsage> unique(List<MethodUsage> usages) {
-        HashMap<String, ArrayList<MethodUsage>> signatures = new HashMap<String, ArrayList<MethodUsage>>();
+        TreeMap<String, ArrayList<MethodUsage>> signatures = new TreeMap<String, ArrayList<MethodUsage>>();
 
         for (MethodUsage usage : usages) {
             String key = getSignature(usage);
@@ -22,12 +22,16 @@ public class Module extends Unit {
 
     private final Entity base;
     private final Resolver resolver;
+    private final boolean serializers;
+    private final boolean warmUp;
 
     public Module(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
-                  Entity base, Resolver resolver) {
+                  Entity base, Resolver resolver, boolean serializers, boolean warmUp) {
         super(entity, imports, mapping, symbols);
         this.resolver = resolver;
         this.base = base;
+        this.serializers = serializers;
+        this.warmUp = warmUp;
     }
 
     public Entity getBase() {
@@ -38,6 +42,29 @@ public class Module extends Unit {
         return this.resolver;
     }
 
+    /**
+     * Whether the module registers the generated serializers and deserializers of the implementations.
+     */
+    public boolean isSerializers() {
+        return this.serializers;
+    }
+
+    /**
+     * Whether the module has a {@code warmUp(ObjectMapper)} method that builds the serializers and deserializers of the
+     * implementations.
+     */
+    public boolean isWarmUp() {
+        return this.warmUp;
+    }
+
+    public String getSerializerSuffix() {
+        return Serializer.SUFFIX;
+    }
+
+    public String getDeserializerSuffix() {
+        return Deserializer.SUFFIX;
+    }
+
     public static Module create(Configuration configuration, Symbols symbols, Resolver resolver) {
         String namespace = resolver.getNamespace();
         String name = Namespaces.join(namespace, configuration.getModule());
@@ -47,9 +74,27 @@ public class Module extends Unit {
         importer.add(base);
         importer.add(resolver);
         importer.addJavaDefaults();
+        if (configuration.isWarmUp()) {
+            importer.add("com.fasterxml.jackson.databind.ObjectMapper");
+            for (Summary implementation : resolver.getImplementations()) {
+                importer.add(implementation);
+                importer.add(implementation.getBase());
+            }
+        }
+        if (configuration.isSerializers()) {
+            for (Summary implementation : resolver.getImplementations()) {
+                importer.add(implementation);
+                importer.add(implementation.getNamespace(), implementation.getName() + Serializer.SUFFIX);
+                importer.add(implementation.getNamespace(), implementation.getName() + Deserializer.SUFFIX);
+            }
+            importer.add("com.fasterxml.jackson.databind.introspect.Annotated");
+            importer.add("com.fasterxml.jackson.databind.introspect.AnnotatedClass");
+            importer.add("com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector");
+        }
         List<String> imports = importer.getImports();
         Mapping mapping = importer.getMapping();
         symbols = importer.getSymbols();
-        return new Module(entity, imports, mapping, symbols, base, resolver);
+        return new Module(entity, imports, mapping, symbols, base, resolver, configuration.isSerializers(),
+                configuration.isWarmUp());
     }
 }
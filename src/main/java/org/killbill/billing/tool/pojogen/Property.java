@@ -28,12 +28,79 @@ import java.util.regex.Pattern;
 
 public class Property {
 
-    private static final String ISSER = "^is(?<property>[A-Z].*)$";
-    private static final String GETTER = "^get(?<property>[A-Z].*)$";
-    private static final String SETTER = "^set(?<property>[A-Z].*)$";
+    private static final Pattern ISSER = Pattern.compile("^is(?<property>[A-Z].*)$");
+    private static final Pattern GETTER = Pattern.compile("^get(?<property>[A-Z].*)$");
+    private static final Pattern SETTER = Pattern.compile("^set(?<property>[A-Z].*)$");
 
     private static final Log log = new Log(Property.class);
 
+    // Values compared by equals() on a few fields at most, after primitives and enums
+    private static final Set<String> SIMPLE = new HashSet<String>(Arrays.asList(
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short", "java.lang.Integer",
+            "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.String", "java.util.UUID"));
+    // Values compared element by element
+    private static final Set<String> CONTAINERS = new HashSet<String>(Arrays.asList(
+            "java.lang.Iterable", "java.util.Collection", "java.util.List", "java.util.Set", "java.util.SortedSet",
+            "java.util.NavigableSet", "java.util.Queue", "java.util.Deque", "java.util.Map", "java.util.SortedMap",
+            "java.util.NavigableMap"));
+
+    public enum Kind {
+        ISSER, GETTER, SETTER, OTHER
+    }
+
+    /**
+     * A method classified once as an isser, a getter, a setter or neither, with the id of its property. The
+     * classification is reused by {@link #possible(List)} and {@link #create(Configuration, List, Map, Mapping,
+     * Symbols, List)}, instead of matching the name of the method again in each of them.
+     */
+    public static class Accessor {
+        private final MethodUsage usage;
+        private final Kind kind;
+        private final String id;
+
+        private Accessor(MethodUsage usage, Kind kind, String id) {
+            this.usage = usage;
+            this.kind = kind;
+            this.id = id;
+        }
+
+        public MethodUsage getUsage() {
+            return this.usage;
+        }
+
+        public Kind getKind() {
+            return this.kind;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public boolean isProperty() {
+            return this.kind != Kind.OTHER;
+        }
+
+        public static Accessor classify(MethodUsage usage) {
+            String name = usage.getDeclaration().getName();
+            if (isIsser(usage)) {
+                return new Accessor(usage, Kind.ISSER, Text.capitalize(name));
+            } else if (isGetter(usage)) {
+                return new Accessor(usage, Kind.GETTER, name.substring("get".length()));
+            } else if (isSetter(usage)) {
+                return new Accessor(usage, Kind.SETTER, name.substring("set".length()));
+            }
+            return new Accessor(usage, Kind.OTHER, "");
+        }
+
+        public static List<Accessor> classify(List<MethodUsage> usages) {
+            ArrayList<Accessor> accessors = new ArrayList<Accessor>(usages.size());
+            for (MethodUsage usage : usages) {
+                accessors.add(classify(usage));
+            }
+            return accessors;
+        }
+    }
+
     private final boolean comparable;
     private final Type type;
     private final Method isser;
@@ -85,10 +152,53 @@ public class Property {
         return this.type;
     }
 
+    /**
+     * An estimate of the cost of comparing two values of the property in {@code equals()}, from cheapest to most
+     * expensive: primitives and enums, boxed primitives, strings and ids, comparables and other objects, collections
+     * and maps, arrays of primitives, and other arrays.
+     */
+    public int getCost() {
+        ResolvedType type = this.type.getType();
+        if (type.isPrimitive() || this.type.isEnum()) {
+            return 0;
+        } else if (this.type.isPrimitiveArray()) {
+            return 4;
+        } else if (type.isArray()) {
+            return 5;
+        } else if (type.isReferenceType()) {
+            String name = type.asReferenceType().getQualifiedName();
+            if (this.comparable) {
+                return 2;
+            } else if (SIMPLE.contains(name)) {
+                return 1;
+            } else if (CONTAINERS.contains(name)) {
+                return 3;
+            }
+        }
+        return 2;
+    }
+
     public static String getName(String id) {
         return Character.toLowerCase(id.charAt(0)) + id.substring(1);
     }
 
+    /**
+     * The name of the property in JSON, as Jackson derives it from the getter and the {@code with} method of the
+     * builder: the leading upper case letters of the id are all lowered. Issers get the same name from their
+     * {@code @JsonGetter}.
+     */
+    public String getJsonName() {
+        StringBuilder s = new StringBuilder(this.id);
+        for (int i = 0; i < s.length(); i++) {
+            char lower = Character.toLowerCase(s.charAt(i));
+            if (lower == s.charAt(i)) {
+                break;
+            }
+            s.setCharAt(i, lower);
+        }
+        return s.toString();
+    }
+
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder();
@@ -125,20 +235,19 @@ public class Property {
         return s.toString();
     }
 
-    public static List<Property> create(Configuration configuration, List<MethodUsage> usages,
+    public static List<Property> create(Configuration configuration, List<Accessor> accessors,
                                         Map<String, String> fields, Mapping mapping, Symbols symbols, List<MethodUsage> rest) {
 
         ArrayList<Property> properties = new ArrayList<Property>();
-        HashMap<String, List<MethodUsage>> map = new HashMap<String, List<MethodUsage>>();
-        for (MethodUsage usage : usages) {
-            String id = identify(usage);
-            if (!Text.zero(id)) {
-                if (!map.containsKey(id)) {
-                    map.put(id, new ArrayList<MethodUsage>());
+        HashMap<String, List<Accessor>> map = new HashMap<String, List<Accessor>>();
+        for (Accessor accessor : accessors) {
+            if (accessor.isProperty() && !Text.zero(accessor.getId())) {
+                if (!map.containsKey(accessor.getId())) {
+                    map.put(accessor.getId(), new ArrayList<Accessor>());
                 }
-                map.get(id).add(usage);
+                map.get(accessor.getId()).add(accessor);
             } else {
-                rest.add(usage);
+                rest.add(accessor.getUsage());
             }
         }
         for (String id : map.keySet()) {
@@ -153,17 +262,17 @@ public class Property {
     }
 
     public static Property create(Configuration configuration, String id, String field,
-                                  List<MethodUsage> usages, Mapping mapping, Symbols symbols, List<MethodUsage> rest) {
+                                  List<Accessor> accessors, Mapping mapping, Symbols symbols, List<MethodUsage> rest) {
         MethodUsage isser = null;
         MethodUsage getter = null;
         List<MethodUsage> setters = new ArrayList<MethodUsage>();
-        for (MethodUsage usage : usages) {
-            if (isIsser(usage)) {
-                isser = usage;
-            } else if (isGetter(usage)) {
-                getter = usage;
-            } else if (isSetter(usage)) {
-                setters.add(usage);
+        for (Accessor accessor : accessors) {
+            if (accessor.getKind() == Kind.ISSER) {
+                isser = accessor.getUsage();
+            } else if (accessor.getKind() == Kind.GETTER) {
+                getter = accessor.getUsage();
+            } else if (accessor.getKind() == Kind.SETTER) {
+                setters.add(accessor.getUsage());
             }
         }
         if (isser != null && getter != null) {
@@ -256,44 +365,16 @@ public class Property {
         return null;
     }
 
-    public static Set<String> possible(List<MethodUsage> usages) {
+    public static Set<String> possible(List<Accessor> accessors) {
         HashSet<String> properties = new HashSet<String>();
-        for (MethodUsage usage : usages) {
-            String property = identify(usage);
-            if (!Text.zero(property)) {
-                properties.add(property);
+        for (Accessor accessor : accessors) {
+            if (accessor.isProperty() && !Text.zero(accessor.getId())) {
+                properties.add(accessor.getId());
             }
         }
         return properties;
     }
 
-    private static String identify(MethodUsage usage) {
-        String property = "";
-        String accessor = usage.getDeclaration().getName();
-        if (isIsser(usage)) {
-            property = Text.capitalize(accessor);
-        } else if (isGetter(usage)) {
-            property = accessor.substring("get".length());
-        } else if (isSetter(usage)) {
-            property = accessor.substring("set".length());
-        }
-        return property;
-    }
-
-    private static ResolvedType type(MethodUsage usage) {
-        ResolvedType type = null;
-        if (isIsser(usage) || isGetter(usage)) {
-            type = usage.returnType();
-        } else if (isSetter(usage)) {
-            type = usage.getParamTypes().get(0);
-        }
-        return type;
-    }
-
-    private static boolean isAccessor(MethodUsage usage) {
-        return isIsser(usage) || isGetter(usage) || isSetter(usage);
-    }
-
     private static boolean isIsser(MethodUsage usage) {
         return isGetter(usage, true);
     }
@@ -305,8 +386,7 @@ public class Property {
     private static boolean isGetter(MethodUsage usage, boolean isser) {
         ResolvedMethodDeclaration declaration = usage.getDeclaration();
         String name = declaration.getName();
-        Pattern pattern = Pattern.compile(isser ? ISSER : GETTER);
-        Matcher matcher = pattern.matcher(name);
+        Matcher matcher = (isser ? ISSER : GETTER).matcher(name);
 
         if (matcher.matches()) {
             if (declaration.getTypeParameters().isEmpty() &&
@@ -337,8 +417,7 @@ public class Property {
     private static boolean isSetter(MethodUsage usage) {
         ResolvedMethodDeclaration declaration = usage.getDeclaration();
         String name = declaration.getName();
-        Pattern pattern = Pattern.compile(SETTER);
-        Matcher matcher = pattern.matcher(name);
+        Matcher matcher = SETTER.matcher(name);
 
         if (matcher.matches()) {
             return (declaration.getTypeParameters().isEmpty() &&
@@ -348,6 +427,49 @@ public class Property {
         return false;
     }
 
+    /**
+     * The properties in the order their values are best compared in {@code equals()}: cheapest first, so that
+     * instances that differ are told apart as early as possible, and by id for the same cost.
+     */
+    public static List<Property> sortByCost(List<Property> properties) {
+        ArrayList<Property> sorted = new ArrayList<Property>(sort(properties));
+        sorted.sort(Comparator.comparingInt(Property::getCost));
+        return sorted;
+    }
+
+    /**
+     * The names of the static constants of the serializers for each property, by field: the field in upper snake
+     * case, numbered when another field gives the same name or when it is already a symbol of the unit.
+     */
+    public static Map<String, String> constants(List<Property> properties, Symbols symbols) {
+        HashMap<String, String> constants = new HashMap<String, String>();
+        HashSet<String> taken = new HashSet<String>();
+        for (Property property : properties) {
+            String base = property.getField().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            String constant = base;
+            for (int attempts = 1; taken.contains(constant) || symbols.contains(constant); attempts++) {
+                constant = base + "_" + attempts;
+            }
+            taken.add(constant);
+            constants.put(property.getField(), constant);
+        }
+        return constants;
+    }
+
+    /**
+     * Fail when two properties have the same name in JSON, which the serializers could neither write nor read apart.
+     */
+    public static void checkJsonNames(String name, List<Property> properties) {
+        HashMap<String, Property> names = new HashMap<String, Property>();
+        for (Property property : properties) {
+            Property other = names.putIfAbsent(property.getJsonName(), property);
+            if (other != null) {
+                throw new IllegalStateException("Properties '" + other.getId() + "' and '" + property.getId() +
+                        "' of " + name + " have the same JSON name '" + property.getJsonName() + "'.");
+            }
+        }
+    }
+
     public static List<Property> sort(List<Property> properties) {
         HashMap<String, Property> map = new HashMap<String, Property>();
         for (Property property : properties) {
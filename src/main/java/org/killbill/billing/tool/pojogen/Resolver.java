@@ -21,16 +21,16 @@ import java.util.List;
 public class Resolver extends Unit {
 
     private final Entity base;
-    private final List<Implementation> implementations;
+    private final List<Summary> implementations;
 
     public Resolver(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
-                    Entity base, List<Implementation> implementations) {
+                    Entity base, List<Summary> implementations) {
         super(entity, imports, mapping, symbols);
         this.implementations = implementations;
         this.base = base;
     }
 
-    public List<Implementation> getImplementations() {
+    public List<Summary> getImplementations() {
         return this.implementations;
     }
 
@@ -38,7 +38,7 @@ public class Resolver extends Unit {
         return this.base;
     }
 
-    public static Resolver create(Configuration configuration, Symbols symbols, String namespace, List<Implementation> implementations) {
+    public static Resolver create(Configuration configuration, Symbols symbols, String namespace, List<Summary> implementations) {
 
         String name = Namespaces.join(namespace, configuration.getResolver());
         Entity entity = new Entity(namespace, name);
@@ -46,7 +46,7 @@ public class Resolver extends Unit {
         Importer importer = new Importer(entity, symbols);
         importer.add(base);
         importer.addJavaDefaults();
-        for (Implementation implementation : implementations) {
+        for (Summary implementation : implementations) {
             importer.add(implementation);
             importer.add(implementation.getBase());
         }
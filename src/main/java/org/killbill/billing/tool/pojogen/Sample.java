@@ -0,0 +1,240 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedEnumConstantDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>Java expressions of values other than the defaults for the properties of a generated implementation, so that
+ * the units exercising it work on instances where every field is set.</p>
+ *
+ * <p>
+ *     Values are known for primitives and their wrappers, strings, enums, the usual value types of an API, arrays,
+ *     lists, sets and maps of them, and the other interfaces generated from the sources. Properties of other types,
+ *     or of type variables and wildcards, have no sample and keep their default.
+ * </p>
+ */
+class Sample {
+
+    private static final Log log = new Log(Sample.class);
+
+    private final Configuration configuration;
+    private final Mapping mapping;
+    private final List<String> names;
+
+    private Sample(Configuration configuration, Mapping mapping) {
+        this.configuration = configuration;
+        this.mapping = mapping;
+        this.names = new ArrayList<String>();
+    }
+
+    /**
+     * Add the types named by the samples of the properties to the importer of a unit, before its mapping is used by
+     * {@link #create(Configuration, Mapping, List)}.
+     */
+    static void addAll(Configuration configuration, Importer importer, List<Property> properties) {
+        Sample sample = new Sample(configuration, new Mapping());
+        ArrayList<ResolvedType> types = new ArrayList<ResolvedType>();
+        for (Property property : properties) {
+            Implementation.gather(property.getType().getType(), types);
+            sample.value(property.getType().getType());
+        }
+        importer.addAll(types);
+        for (String name : sample.names) {
+            importer.add(name);
+        }
+    }
+
+    /**
+     * The samples of the properties by field, written with the mapping of the unit. Properties without a sample are
+     * left out.
+     */
+    static Map<String, String> create(Configuration configuration, Mapping mapping, List<Property> properties) {
+        Sample sample = new Sample(configuration, mapping);
+        HashMap<String, String> samples = new HashMap<String, String>();
+        for (Property property : properties) {
+            String value = sample.value(property.getType().getType());
+            if (value != null) {
+                samples.put(property.getField(), value);
+            } else {
+                log.debug("No sample for %s of type %s", property.getId(), property.getType().getName());
+            }
+        }
+        return samples;
+    }
+
+    private String name(String name) {
+        this.names.add(name);
+        return this.mapping.resolve(name);
+    }
+
+    private String value(ResolvedType type) {
+        if (type.isPrimitive()) {
+            return primitive(type.asPrimitive().describe());
+        }
+        if (type.isArray()) {
+            ResolvedType component = type.asArrayType().getComponentType();
+            String value = value(component);
+            if ((value == null) || !reifiable(component)) {
+                return null;
+            }
+            return "new " + Type.toString(type, this.mapping) + " { " + value + " }";
+        }
+        if (!type.isReferenceType()) {
+            return null;
+        }
+        ResolvedReferenceType reference = type.asReferenceType();
+        String name = reference.getQualifiedName();
+        switch (name) {
+            case "java.lang.Boolean":
+            case "java.lang.Byte":
+            case "java.lang.Character":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+            case "java.lang.Float":
+            case "java.lang.Double":
+                return primitive(reference.toUnboxedType().get().describe());
+            case "java.lang.String":
+            case "java.lang.CharSequence":
+                return "\"value\"";
+            case "java.math.BigDecimal":
+                return "new " + name(name) + "(\"12.50\")";
+            case "java.math.BigInteger":
+                return name(name) + ".valueOf(7)";
+            case "java.util.UUID":
+                return name(name) + ".fromString(\"00000000-0000-0000-0000-000000000007\")";
+            case "java.util.Date":
+                return "new " + name(name) + "(1000000L)";
+            case "org.joda.time.DateTime":
+                return "new " + name(name) + "(1000000L, " + name("org.joda.time.DateTimeZone") + ".UTC)";
+            case "org.joda.time.LocalDate":
+                return "new " + name(name) + "(2020, 1, 31)";
+            case "java.lang.Iterable":
+            case "java.util.Collection":
+            case "java.util.List":
+                return container("singletonList", reference, 1);
+            case "java.util.Set":
+                return container("singleton", reference, 1);
+            case "java.util.Map":
+                return container("singletonMap", reference, 2);
+            default:
+                return declared(reference);
+        }
+    }
+
+    private static String primitive(String name) {
+        switch (name) {
+            case "boolean":
+                return "true";
+            case "byte":
+                return "(byte) 7";
+            case "char":
+                return "'x'";
+            case "short":
+                return "(short) 7";
+            case "int":
+                return "7";
+            case "long":
+                return "7L";
+            case "float":
+                return "1.5f";
+            case "double":
+                return "2.5";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * A container of one element, from a factory of {@code java.util.Collections}.
+     */
+    private String container(String factory, ResolvedReferenceType reference, int arguments) {
+        List<ResolvedType> parameters = reference.typeParametersValues();
+        if (parameters.size() != arguments) {
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<String>();
+        for (ResolvedType parameter : parameters) {
+            String value = value(parameter);
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        return name("java.util.Collections") + "." + factory + "(" + String.join(", ", values) + ")";
+    }
+
+    /**
+     * The first constant of an enum, or an instance built by the implementation generated for another interface of
+     * the sources.
+     */
+    private String declared(ResolvedReferenceType reference) {
+        Optional<ResolvedReferenceTypeDeclaration> optional = reference.getTypeDeclaration();
+        if (!optional.isPresent()) {
+            return null;
+        }
+        ResolvedReferenceTypeDeclaration declaration = optional.get();
+        if (declaration.isEnum()) {
+            List<ResolvedEnumConstantDeclaration> constants = declaration.asEnum().getEnumConstants();
+            if (constants.isEmpty()) {
+                return null;
+            }
+            return name(declaration.getQualifiedName()) + "." + constants.get(0).getName();
+        }
+        // The interfaces the generator implements: parsed from the sources, accepted, neither generic nor nested
+        if ((declaration instanceof JavaParserInterfaceDeclaration) &&
+                generated(((JavaParserInterfaceDeclaration) declaration).getWrappedNode()) &&
+                this.configuration.accepts(declaration.getPackageName(), declaration.getQualifiedName())) {
+            String implementation = this.configuration.rename(declaration.getPackageName(),
+                    declaration.getQualifiedName());
+            return "new " + name(implementation) + "." + this.configuration.getBuilder() + "<>().build()";
+        }
+        return null;
+    }
+
+    private static boolean generated(ClassOrInterfaceDeclaration ast) {
+        return ast.isInterface() && !ast.isGeneric() && !ast.isNestedType();
+    }
+
+    /**
+     * Whether an array of the type can be created, that is the type is neither generic nor a type variable.
+     */
+    private static boolean reifiable(ResolvedType type) {
+        if (type.isPrimitive()) {
+            return true;
+        }
+        if (type.isArray()) {
+            return reifiable(type.asArrayType().getComponentType());
+        }
+        if (type.isReferenceType()) {
+            return type.asReferenceType().typeParametersValues().isEmpty();
+        }
+        return false;
+    }
+}
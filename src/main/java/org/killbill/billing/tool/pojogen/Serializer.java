@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A Jackson {@code StdSerializer} of the generated implementation of an interface, that writes its properties with
+ * streaming calls and precomputed field names, instead of the reflective bean serializer.</p>
+ *
+ * <p>
+ *     Properties are written in the order of the bean serializer, and null values are left out when the default
+ *     property inclusion of the mapper excludes them. Unlike the bean serializer, getters implemented by default
+ *     methods of the interfaces are not written, as they are not properties of the implementation.
+ * </p>
+ */
+public class Serializer extends Unit {
+    final static String SUFFIX = "Serializer";
+    private final Implementation target;
+    private final Map<String, String> constants;
+    private final List<Property> properties;
+
+    public Serializer(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
+                      Implementation target, List<Property> properties, Map<String, String> constants) {
+        super(entity, imports, mapping, symbols);
+        this.target = target;
+        this.constants = constants;
+        this.properties = properties;
+    }
+
+    public Implementation getTarget() {
+        return this.target;
+    }
+
+    /**
+     * The names of the constants of each property, by field.
+     */
+    public Map<String, String> getConstants() {
+        return this.constants;
+    }
+
+    /**
+     * The properties with an accessor, in the order of the bean serializer.
+     */
+    public List<Property> getProperties() {
+        return this.properties;
+    }
+
+    /**
+     * <p>Order the properties like the bean serializer does.</p>
+     *
+     * <p>
+     *     Jackson collects the fields of the class first, then its methods, and moves the properties renamed by an
+     *     annotation to the end. So the properties named after their field come first, then the properties whose
+     *     getter gives another name, then the issers renamed by their {@code @JsonGetter}, each in the order of the
+     *     implementation.
+     * </p>
+     */
+    static List<Property> order(List<Property> properties) {
+        ArrayList<Property> fields = new ArrayList<Property>();
+        ArrayList<Property> getters = new ArrayList<Property>();
+        ArrayList<Property> issers = new ArrayList<Property>();
+        for (Property property : properties) {
+            if (property.getIsser() != null) {
+                issers.add(property);
+            } else if (property.getGetter() == null) {
+                continue;
+            } else if (property.getJsonName().equals(property.getField())) {
+                fields.add(property);
+            } else {
+                getters.add(property);
+            }
+        }
+        fields.addAll(getters);
+        fields.addAll(issers);
+        return fields;
+    }
+
+    public static Serializer create(Configuration configuration, Symbols symbols, Implementation implementation) {
+
+        String namespace = implementation.getNamespace();
+        String name = implementation.getName() + SUFFIX;
+        Property.checkJsonNames(implementation.getName(), implementation.getProperties());
+        Entity entity = new Entity(namespace, name);
+
+        Importer importer = new Importer(entity, symbols);
+        importer.addJavaDefaults();
+        importer.add(implementation);
+
+        importer.add("com.fasterxml.jackson.annotation.JsonInclude");
+        importer.add("com.fasterxml.jackson.core.JsonGenerator");
+        importer.add("com.fasterxml.jackson.core.io.SerializedString");
+        importer.add("com.fasterxml.jackson.databind.BeanProperty");
+        importer.add("com.fasterxml.jackson.databind.JsonSerializer");
+        importer.add("com.fasterxml.jackson.databind.SerializerProvider");
+        importer.add("com.fasterxml.jackson.databind.ser.ContextualSerializer");
+        importer.add("com.fasterxml.jackson.databind.ser.std.StdSerializer");
+        importer.add("java.io.IOException");
+
+        List<String> imports = importer.getImports();
+        Mapping mapping = importer.getMapping();
+        symbols = importer.getSymbols();
+
+        return new Serializer(entity, imports, mapping, symbols, implementation, order(implementation.getProperties()),
+                Property.constants(implementation.getProperties(), symbols));
+    }
+}
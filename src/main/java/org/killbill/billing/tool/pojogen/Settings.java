@@ -50,7 +50,9 @@ public class Settings {
 
     private File output;
     private File test;
+    private File benchmark;
     private File resource;
+    private File dependencyIndex;
     private String builder;
     private String module;
     private String prefix;
@@ -58,6 +60,14 @@ public class Settings {
     private String resolver;
     private String subpackage;
     private String service;
+    private boolean immutable;
+    private boolean serializers;
+    private boolean warmUp;
+    private int threads;
+    private int parseThreads;
+    private boolean incremental;
+    private boolean stats;
+    private File statsFile;
     private List<File> dependencies;
     private List<File> sources;
     private List<String> comparables;
@@ -75,10 +85,20 @@ public class Settings {
         this.prefix = "";
         this.suffix = "";
         this.test = null;
+        this.benchmark = null;
         this.resource = null;
+        this.dependencyIndex = null;
         this.builder = "Builder";
         this.module = null;
         this.resolver = null;
+        this.immutable = false;
+        this.serializers = false;
+        this.warmUp = false;
+        this.threads = 1;
+        this.parseThreads = 1;
+        this.incremental = false;
+        this.stats = false;
+        this.statsFile = null;
     }
 
     @JacksonXmlElementWrapper(localName = "acceptedInterfaces")
@@ -129,6 +149,16 @@ public class Settings {
         this.dependencies = dependencies;
     }
 
+    @JacksonXmlProperty(localName = "dependencyIndex")
+    public File getDependencyIndex() {
+        return this.dependencyIndex;
+    }
+
+    @JacksonXmlProperty(localName = "dependencyIndex")
+    public void setDependencyIndex(File dependencyIndex) {
+        this.dependencyIndex = dependencyIndex;
+    }
+
     @JacksonXmlElementWrapper(localName = "sourceDirectories")
     @JacksonXmlProperty(localName = "sourceDirectory")
     public List<File> getSources() {
@@ -151,6 +181,16 @@ public class Settings {
         this.test = test;
     }
 
+    @JacksonXmlProperty(localName = "benchmarkDirectory")
+    public File getBenchmark() {
+        return this.benchmark;
+    }
+
+    @JacksonXmlProperty(localName = "benchmarkDirectory")
+    public void setBenchmark(File benchmark) {
+        this.benchmark = benchmark;
+    }
+
     @JacksonXmlProperty(localName = "resourceDirectory")
     public File getResource() {
         return this.resource;
@@ -211,6 +251,36 @@ public class Settings {
         return this.builder;
     }
 
+    @JacksonXmlProperty(localName = "immutable")
+    public void setImmutable(boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    @JacksonXmlProperty(localName = "immutable")
+    public boolean isImmutable() {
+        return this.immutable;
+    }
+
+    @JacksonXmlProperty(localName = "serializers")
+    public void setSerializers(boolean serializers) {
+        this.serializers = serializers;
+    }
+
+    @JacksonXmlProperty(localName = "serializers")
+    public boolean isSerializers() {
+        return this.serializers;
+    }
+
+    @JacksonXmlProperty(localName = "warmUp")
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @JacksonXmlProperty(localName = "warmUp")
+    public boolean isWarmUp() {
+        return this.warmUp;
+    }
+
     @JacksonXmlProperty(localName = "resolverClass")
     public void setResolver(String resolver) {
         this.resolver = resolver;
@@ -231,6 +301,56 @@ public class Settings {
         return this.module;
     }
 
+    @JacksonXmlProperty(localName = "threads")
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @JacksonXmlProperty(localName = "threads")
+    public int getThreads() {
+        return this.threads;
+    }
+
+    @JacksonXmlProperty(localName = "parseThreads")
+    public void setParseThreads(int parseThreads) {
+        this.parseThreads = parseThreads;
+    }
+
+    @JacksonXmlProperty(localName = "parseThreads")
+    public int getParseThreads() {
+        return this.parseThreads;
+    }
+
+    @JacksonXmlProperty(localName = "incremental")
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    @JacksonXmlProperty(localName = "incremental")
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
+    @JacksonXmlProperty(localName = "stats")
+    public void setStats(boolean stats) {
+        this.stats = stats;
+    }
+
+    @JacksonXmlProperty(localName = "stats")
+    public boolean isStats() {
+        return this.stats;
+    }
+
+    @JacksonXmlProperty(localName = "statsFile")
+    public void setStatsFile(File statsFile) {
+        this.statsFile = statsFile;
+    }
+
+    @JacksonXmlProperty(localName = "statsFile")
+    public File getStatsFile() {
+        return this.statsFile;
+    }
+
     public void write(File file) throws Exception {
         write(file, this);
     }
@@ -175,6 +175,80 @@ class SettingsLoader {
         }
     }
 
+    void overrideOutputBenchmarkDirectory(final String benchmark) {
+        if (isStringExist(benchmark)) {
+            final File file = new File(benchmark);
+            if (isFileExist(file)) {
+                log.trace("Set '--output-benchmark' directory to: {}", benchmark);
+                settings.setBenchmark(file);
+            } else {
+                throw new IllegalArgumentException("Set '--output-benchmark' to non-existent directory");
+            }
+        }
+    }
+
+    void overrideImmutable(final boolean immutable) {
+        if (immutable) {
+            log.trace("Set '--immutable' to: {}", immutable);
+            settings.setImmutable(true);
+        }
+    }
+
+    void overrideSerializers(final boolean serializers) {
+        if (serializers) {
+            log.trace("Set '--serializers' to: {}", serializers);
+            settings.setSerializers(true);
+        }
+    }
+
+    void overrideWarmUp(final boolean warmUp) {
+        if (warmUp) {
+            log.trace("Set '--warm-up' to: {}", warmUp);
+            settings.setWarmUp(true);
+        }
+    }
+
+    void overrideThreads(final Integer threads) {
+        if (threads != null) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Set '--threads' to a value lower than 1");
+            }
+            log.trace("Set '--threads' to: {}", threads);
+            settings.setThreads(threads);
+        }
+    }
+
+    void overrideParseThreads(final Integer parseThreads) {
+        if (parseThreads != null) {
+            if (parseThreads < 1) {
+                throw new IllegalArgumentException("Set '--parse-threads' to a value lower than 1");
+            }
+            log.trace("Set '--parse-threads' to: {}", parseThreads);
+            settings.setParseThreads(parseThreads);
+        }
+    }
+
+    void overrideIncremental(final boolean incremental) {
+        if (incremental) {
+            log.trace("Set '--incremental' to: {}", incremental);
+            settings.setIncremental(true);
+        }
+    }
+
+    void overrideStats(final boolean stats) {
+        if (stats) {
+            log.trace("Set '--stats' to: {}", stats);
+            settings.setStats(true);
+        }
+    }
+
+    void overrideStatsFile(final String statsFile) {
+        if (isStringExist(statsFile)) {
+            log.trace("Set '--stats-file' to: {}", statsFile);
+            settings.setStatsFile(new File(statsFile));
+        }
+    }
+
     Settings getSettings() {
         return settings;
     }
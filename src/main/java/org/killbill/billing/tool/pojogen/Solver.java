@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The JavaParser symbol solving state of a run: the combined type solver over the JDK, the jar dependencies and the
+ * source directories, and the parser configuration bound to it. Jar dependencies come from a shared
+ * {@link Dependencies} index, and are only opened when one of their types is needed.
+ *
+ * <p>
+ * The symbol solver caches are not thread-safe, so a {@code Solver} must only be used by one thread at a time.
+ * Parallel generation creates one {@code Solver} per worker.
+ * </p>
+ */
+public class Solver {
+
+    private static final Log log = new Log(Solver.class);
+
+    private final CombinedTypeSolver solver;
+    private final ParserConfiguration parser;
+    private final List<File> sources;
+    private final List<JavaParserTypeSolver> solvers;
+
+    private Solver(CombinedTypeSolver solver, ParserConfiguration parser,
+                   List<File> sources, List<JavaParserTypeSolver> solvers) {
+        this.solver = solver;
+        this.parser = parser;
+        this.sources = sources;
+        this.solvers = solvers;
+    }
+
+    public ParserConfiguration getParserConfiguration() {
+        return this.parser;
+    }
+
+    public List<File> getSources() {
+        return this.sources;
+    }
+
+    /**
+     * Resolve a top-level type declared in one of the source directories, ignoring any jar that would also provide it.
+     */
+    public Optional<ResolvedReferenceTypeDeclaration> resolve(String name) {
+        for (JavaParserTypeSolver source : this.solvers) {
+            SymbolReference<ResolvedReferenceTypeDeclaration> reference = source.tryToSolveType(name);
+            if (reference.isSolved()) {
+                return Optional.of(reference.getCorrespondingDeclaration());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static Solver create(Configuration configuration, Dependencies dependencies) {
+        CombinedTypeSolver solver = new CombinedTypeSolver();
+        ParserConfiguration parser = new ParserConfiguration();
+        parser.setCharacterEncoding(configuration.getEncoding());
+        parser.setSymbolResolver(new JavaSymbolSolver(solver));
+        solver.add(new ReflectionTypeSolver(true));
+
+        if (dependencies.size() > 0) {
+            solver.add(dependencies.newTypeSolver());
+        }
+        ArrayList<File> sources = new ArrayList<File>();
+        ArrayList<JavaParserTypeSolver> solvers = new ArrayList<JavaParserTypeSolver>();
+        for (File source : configuration.getSources()) {
+            if (source.exists()) {
+                log.trace("Added source directory: %s", source);
+                JavaParserTypeSolver javaParserTypeSolver = new JavaParserTypeSolver(source, parser);
+                solver.add(javaParserTypeSolver);
+                solvers.add(javaParserTypeSolver);
+                sources.add(source);
+            } else {
+                log.warn("Source directory <%s> does not exit.", source);
+            }
+        }
+        return new Solver(solver, parser, sources, solvers);
+    }
+}
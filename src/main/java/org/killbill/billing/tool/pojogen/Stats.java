@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Timings, allocations and counters of one {@link Generator} run.</p>
+ *
+ * <p>
+ *     Phases are measured in wall time and in bytes allocated by the thread that ran them, as reported by the
+ *     {@link ThreadMXBean} of HotSpot based JVMs ({@code -1} elsewhere). Interfaces are measured by the thread that
+ *     resolved and implemented them, and can be recorded from several threads at once. Files are streamed through
+ *     the phases one at a time, so a phase adds up the time spent in it for every file, and in a parallel run, by
+ *     every thread.
+ * </p>
+ */
+public class Stats {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final int SLOWEST = 10;
+
+    /**
+     * A starting point in wall time and in bytes allocated by the current thread.
+     */
+    public static class Clock {
+        private final long nanos;
+        private final long bytes;
+
+        private Clock() {
+            this.nanos = System.nanoTime();
+            this.bytes = allocated();
+        }
+
+        public long getNanos() {
+            return System.nanoTime() - this.nanos;
+        }
+
+        public long getBytes() {
+            return (this.bytes < 0) ? -1 : allocated() - this.bytes;
+        }
+    }
+
+    public static class Phase {
+        private long nanos;
+        private long bytes;
+
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+    }
+
+    public static class Unit {
+        private final long resolveNanos;
+        private final long modelNanos;
+        private final long bytes;
+
+        private Unit(long resolveNanos, long modelNanos, long bytes) {
+            this.resolveNanos = resolveNanos;
+            this.modelNanos = modelNanos;
+            this.bytes = bytes;
+        }
+
+        public long getResolveNanos() {
+            return this.resolveNanos;
+        }
+
+        public long getModelNanos() {
+            return this.modelNanos;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+    }
+
+    private final Map<String, Phase> phases;
+    private final Map<String, Long> counts;
+    private final Map<String, Unit> interfaces;
+
+    public Stats() {
+        this.phases = new LinkedHashMap<String, Phase>();
+        this.counts = new LinkedHashMap<String, Long>();
+        this.interfaces = new TreeMap<String, Unit>();
+    }
+
+    public static Clock clock() {
+        return new Clock();
+    }
+
+    private static long allocated() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add the time and allocations since {@code clock} to a phase. Phases are reported in the order they are first
+     * recorded.
+     */
+    public synchronized void phase(String name, Clock clock) {
+        Phase phase = this.phases.computeIfAbsent(name, (key) -> new Phase());
+        phase.nanos += clock.getNanos();
+        long bytes = clock.getBytes();
+        phase.bytes = (bytes < 0 || phase.bytes < 0) ? -1 : phase.bytes + bytes;
+    }
+
+    public synchronized void count(String name, long count) {
+        this.counts.merge(name, count, Long::sum);
+    }
+
+    public synchronized void unit(String name, long resolveNanos, long modelNanos, long bytes) {
+        this.interfaces.put(name, new Unit(resolveNanos, modelNanos, bytes));
+    }
+
+    public synchronized Map<String, Phase> getPhases() {
+        return new LinkedHashMap<String, Phase>(this.phases);
+    }
+
+    public synchronized Map<String, Long> getCounts() {
+        return new LinkedHashMap<String, Long>(this.counts);
+    }
+
+    public synchronized Map<String, Unit> getInterfaces() {
+        return new TreeMap<String, Unit>(this.interfaces);
+    }
+
+    /**
+     * The report printed by {@code --stats}: phases, counters, and the slowest interfaces.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder s = new StringBuilder();
+        s.append("  > Stats\n\n");
+        for (Map.Entry<String, Phase> entry : this.phases.entrySet()) {
+            s.append(String.format("    > %-12s %10.1f ms %12s\n", entry.getKey(),
+                    entry.getValue().nanos / 1e6, bytes(entry.getValue().bytes)));
+        }
+        s.append("\n");
+        for (Map.Entry<String, Long> entry : this.counts.entrySet()) {
+            s.append(String.format("    > %-20s %d\n", entry.getKey(), entry.getValue()));
+        }
+        if (!this.interfaces.isEmpty()) {
+            s.append("\n");
+            this.interfaces.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(
+                            b.getValue().resolveNanos + b.getValue().modelNanos,
+                            a.getValue().resolveNanos + a.getValue().modelNanos))
+                    .limit(SLOWEST)
+                    .forEach((entry) -> s.append(String.format("    > %10.1f ms %12s  %s\n",
+                            (entry.getValue().resolveNanos + entry.getValue().modelNanos) / 1e6,
+                            bytes(entry.getValue().bytes), entry.getKey())));
+        }
+        return s.toString();
+    }
+
+    private static String bytes(long bytes) {
+        return (bytes < 0) ? "n/a" : String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    public synchronized void write(File file) throws IOException {
+        LinkedHashMap<String, Object> json = new LinkedHashMap<String, Object>();
+        json.put("phases", this.phases);
+        json.put("counts", this.counts);
+        json.put("interfaces", this.interfaces);
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        FileUtils.forceMkdirParent(file);
+        mapper.writeValue(file, json);
+    }
+}
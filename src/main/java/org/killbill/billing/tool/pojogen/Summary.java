@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The generated class of an interface and the interface it implements, without the rest of the {@link Implementation}
+ * model. This is all the cross-unit outputs ({@link Resolver}, {@link Module}, {@link Service}) need, and it is also
+ * available for interfaces that an incremental run did not generate again.
+ */
+public class Summary extends Entity {
+
+    private final Entity base;
+
+    public Summary(Entity entity, Entity base) {
+        super(entity);
+        this.base = base;
+    }
+
+    public Entity getBase() {
+        return this.base;
+    }
+
+    public static Summary create(Implementation implementation) {
+        return new Summary(implementation, implementation.getBase());
+    }
+
+    public static List<Summary> sort(List<Summary> summaries) {
+        HashMap<String, Summary> map = new HashMap<String, Summary>();
+        for (Summary summary : summaries) {
+            map.put(summary.getName(), summary);
+        }
+        ArrayList<String> index = new ArrayList<String>(map.keySet());
+        Collections.sort(index);
+        ArrayList<Summary> result = new ArrayList<Summary>();
+        for (String key : index) {
+            result.add(map.get(key));
+        }
+        return result;
+    }
+}
@@ -16,11 +16,23 @@
 
 package org.killbill.billing.tool.pojogen;
 
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
 
-public class Symbols extends HashSet<String> {
+/**
+ * <p>Names already taken in a scope of a unit, that new fields, parameters and type parameters must not hide.</p>
+ *
+ * <p>
+ *     Like {@link Mapping}, symbols are a persistent structure: {@link #scope()} returns a new set layered over this
+ *     one, which is frozen, and which only holds the names added in the scope.
+ * </p>
+ */
+public class Symbols extends AbstractSet<String> {
     static final String[] JAVA = new String[]{
             /* Java keywords */
             "abstract", "continue", "for", "new", "switch",
@@ -38,15 +50,98 @@ public class Symbols extends HashSet<String> {
     };
     private static final Log log = new Log(Symbols.class);
 
+    private final Symbols parent;
+    private Set<String> delta;
+    private boolean frozen;
+
     public Symbols() {
+        this.parent = null;
     }
 
     public Symbols(Collection<String> source) {
-        super(source);
+        this.parent = null;
+        this.delta = new HashSet<String>(source);
+    }
+
+    private Symbols(Symbols parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public boolean contains(Object symbol) {
+        for (Symbols symbols = this; symbols != null; symbols = symbols.parent) {
+            if (symbols.delta != null && symbols.delta.contains(symbol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(String symbol) {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("Symbols are frozen, add '" + symbol + "' in a new scope.");
+        }
+        if (contains(symbol)) {
+            return false;
+        }
+        if (this.delta == null) {
+            this.delta = new HashSet<String>();
+        }
+        return this.delta.add(symbol);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return flatten().iterator();
+    }
+
+    /**
+     * The symbols of a scope are never in their parents, so the size is the sum of the sizes of the scopes.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Symbols symbols = this; symbols != null; symbols = symbols.parent) {
+            if (symbols.delta != null) {
+                size += symbols.delta.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A new, empty, set layered over this one, which is frozen.
+     */
+    public Symbols scope() {
+        this.frozen = true;
+        Symbols base = this;
+        while (base.parent != null && base.delta == null) {
+            base = base.parent;
+        }
+        return new Symbols(base);
+    }
+
+    /**
+     * These symbols, which can no longer be changed, to be shared by objects that keep them.
+     */
+    public Symbols freeze() {
+        this.frozen = true;
+        return this;
+    }
+
+    private Set<String> flatten() {
+        HashSet<String> set = new HashSet<String>();
+        for (Symbols symbols = this; symbols != null; symbols = symbols.parent) {
+            if (symbols.delta != null) {
+                set.addAll(symbols.delta);
+            }
+        }
+        return Collections.unmodifiableSet(set);
     }
 
     public Symbols clone() {
-        return new Symbols(this);
+        return new Symbols(this.flatten());
     }
 
     public static Symbols union(Symbols... vargs) {
@@ -58,6 +153,6 @@ public class Symbols extends HashSet<String> {
     }
 
     public static Symbols java() {
-        return new Symbols(Arrays.asList(JAVA));
+        return new Symbols(Arrays.asList(JAVA)).freeze();
     }
 }
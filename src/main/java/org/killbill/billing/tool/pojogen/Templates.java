@@ -16,18 +16,51 @@
 
 package org.killbill.billing.tool.pojogen;
 
+import freemarker.cache.StrongCacheStorage;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateExceptionHandler;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * <p>The FreeMarker template set used to render the generated files.</p>
+ *
+ * <p>
+ *     Templates are loaded from the class path and never change during the life of the process, so parsed templates
+ *     are kept in a strong cache and never checked again for updates. {@link #shared(Charset, Class, String)} returns
+ *     a warmed-up instance that is reused by every run of the same process.
+ * </p>
+ */
 public class Templates {
     private static final Log log = new Log(Templates.class);
+
+    /**
+     * Every template of the template set, including the ones that are only imported by others.
+     */
+    static final List<String> NAMES = Arrays.asList(
+            "benchmark.ftl", "common.ftl", "deserializer.ftl", "header.ftl", "implementation.ftl", "module.ftl",
+            "resolver.ftl", "serializer.ftl", "service.ftl", "string.ftl", "test.ftl", "unit.ftl",
+            "text/generator.ftl", "text/license.ftl");
+
+    private static final Map<String, Templates> SHARED = new ConcurrentHashMap<String, Templates>();
+
     private final Configuration configuration;
+    private final Class cl;
+    private final String path;
+    private volatile String fingerprint;
 
     public Templates(Charset encoding, Class cl, String path) {
+        this.cl = cl;
+        this.path = path;
         this.configuration = new Configuration(Configuration.VERSION_2_3_31);
         this.configuration.setClassForTemplateLoading(cl, path);
         this.configuration.setDefaultEncoding(encoding.name());
@@ -35,35 +68,109 @@ public class Templates {
         this.configuration.setLogTemplateExceptions(false);
         this.configuration.setWrapUncheckedExceptions(true);
         this.configuration.setFallbackOnNullLoopVariable(false);
+        this.configuration.setSharedVariable(Block.NAME, new Block());
+        this.configuration.setCacheStorage(new StrongCacheStorage());
+        this.configuration.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+    }
+
+    /**
+     * The warmed-up template set for the given encoding and location, created on first use and then shared by every
+     * later run of the process.
+     */
+    public static Templates shared(Charset encoding, Class cl, String path) throws IOException {
+        String key = encoding.name() + ":" + cl.getName() + ":" + path;
+        Templates templates = SHARED.get(key);
+        if (templates == null) {
+            templates = new Templates(encoding, cl, path);
+            templates.warmUp();
+            Templates previous = SHARED.putIfAbsent(key, templates);
+            if (previous != null) {
+                templates = previous;
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * Parse every template up front, so that no run pays for it on first use.
+     */
+    public void warmUp() throws IOException {
+        long start = System.nanoTime();
+        for (String name : NAMES) {
+            this.get(name);
+        }
+        log.trace("Parsed %d templates in %d ms.", NAMES.size(), (System.nanoTime() - start) / 1000000);
     }
 
-    private Template get(String id) throws Exception {
+    /**
+     * A hash of the content of every template, to detect template changes between incremental runs.
+     */
+    public String getFingerprint() throws IOException {
+        if (this.fingerprint == null) {
+            this.fingerprint = this.computeFingerprint();
+        }
+        return this.fingerprint;
+    }
+
+    private String computeFingerprint() throws IOException {
+        Digest digest = new Digest();
+        for (String name : NAMES) {
+            digest.add(name);
+            try (InputStream input = this.cl.getResourceAsStream(this.path + "/" + name)) {
+                if (input != null) {
+                    digest.add(input);
+                }
+            }
+        }
+        return digest.hex();
+    }
+
+    private Template get(String id) throws IOException {
         return this.configuration.getTemplate(id);
     }
 
     protected String render(String id, Object model) throws Exception {
         StringWriter writer = new StringWriter();
-        this.get(id).process(model, writer);
+        this.render(id, model, writer);
         return writer.toString();
     }
 
-    public String render(Implementation implementation) throws Exception {
-        return this.render("implementation.ftl", implementation);
+    /**
+     * Render straight to a writer, without buffering the whole output in memory.
+     */
+    protected void render(String id, Object model, Writer writer) throws Exception {
+        this.get(id).process(model, writer);
+    }
+
+    public void render(Implementation implementation, Writer writer) throws Exception {
+        this.render("implementation.ftl", implementation, writer);
     }
 
-    public String render(Resolver resolver) throws Exception {
-        return this.render("resolver.ftl", resolver);
+    public void render(Resolver resolver, Writer writer) throws Exception {
+        this.render("resolver.ftl", resolver, writer);
     }
 
-    public String render(Module module) throws Exception {
-        return this.render("module.ftl", module);
+    public void render(Module module, Writer writer) throws Exception {
+        this.render("module.ftl", module, writer);
     }
 
     public String render(Service service) throws Exception {
         return this.render("service.ftl", service);
     }
 
-    public String render(Test test) throws Exception {
-        return this.render("test.ftl", test);
+    public void render(Benchmark benchmark, Writer writer) throws Exception {
+        this.render("benchmark.ftl", benchmark, writer);
+    }
+
+    public void render(Serializer serializer, Writer writer) throws Exception {
+        this.render("serializer.ftl", serializer, writer);
+    }
+
+    public void render(Deserializer deserializer, Writer writer) throws Exception {
+        this.render("deserializer.ftl", deserializer, writer);
+    }
+
+    public void render(Test test, Writer writer) throws Exception {
+        this.render("test.ftl", test, writer);
     }
 }
@@ -16,22 +16,33 @@
 
 package org.killbill.billing.tool.pojogen;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Test extends Unit {
-    private final static String SUFFIX = "Test";
+    final static String SUFFIX = "Test";
     private final Implementation target;
+    private final Map<String, String> samples;
 
     public Test(Entity entity, List<String> imports, Mapping mapping, Symbols symbols,
-                Implementation target) {
+                Implementation target, Map<String, String> samples) {
         super(entity, imports, mapping, symbols);
         this.target = target;
+        this.samples = samples;
     }
 
     public Implementation getTarget() {
         return this.target;
     }
 
+    /**
+     * The values of the instance whose hash code is checked, by field, empty when the POJO is mutable.
+     */
+    public Map<String, String> getSamples() {
+        return this.samples;
+    }
+
     public static Test create(Configuration configuration, Symbols symbols, Implementation implementation) {
 
         String namespace = implementation.getNamespace();
@@ -53,11 +64,17 @@ public class Test extends Unit {
         importer.add("com.fasterxml.jackson.datatype.joda.JodaModule");
         importer.add("com.fasterxml.jackson.databind.util.StdDateFormat");
         importer.add("java.io.IOException");
+        // Only the hash code test of immutable POJOs uses the samples
+        if (configuration.isImmutable()) {
+            Sample.addAll(configuration, importer, implementation.getProperties());
+        }
 
         List<String> imports = importer.getImports();
         Mapping mapping = importer.getMapping();
         symbols = importer.getSymbols();
 
-        return new Test(entity, imports, mapping, symbols, implementation);
+        Map<String, String> samples = configuration.isImmutable() ?
+                Sample.create(configuration, mapping, implementation.getProperties()) : new HashMap<String, String>();
+        return new Test(entity, imports, mapping, symbols, implementation, samples);
     }
 }
@@ -17,6 +17,7 @@
 package org.killbill.billing.tool.pojogen;
 
 import com.github.javaparser.resolution.MethodUsage;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
 import com.github.javaparser.resolution.types.*;
 import com.github.javaparser.utils.Pair;
@@ -25,6 +26,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class Type {
 
@@ -33,13 +36,42 @@ public class Type {
 
     private static final Log log = new Log(Type.class);
 
+    // Typical number of characters printed for a value of these types, other values are counted as WIDTH
+    private static final int WIDTH = 32;
+    private static final Map<String, Integer> WIDTHS = new HashMap<String, Integer>();
+
+    static {
+        WIDTHS.put("boolean", 5);
+        WIDTHS.put("byte", 3);
+        WIDTHS.put("char", 1);
+        WIDTHS.put("short", 5);
+        WIDTHS.put("int", 8);
+        WIDTHS.put("long", 13);
+        WIDTHS.put("float", 10);
+        WIDTHS.put("double", 18);
+        WIDTHS.put("java.lang.Boolean", 5);
+        WIDTHS.put("java.lang.Byte", 3);
+        WIDTHS.put("java.lang.Character", 1);
+        WIDTHS.put("java.lang.Short", 5);
+        WIDTHS.put("java.lang.Integer", 8);
+        WIDTHS.put("java.lang.Long", 13);
+        WIDTHS.put("java.lang.Float", 10);
+        WIDTHS.put("java.lang.Double", 18);
+        WIDTHS.put("java.lang.String", 16);
+        WIDTHS.put("java.math.BigDecimal", 12);
+        WIDTHS.put("java.util.Date", 28);
+        WIDTHS.put("java.util.UUID", 36);
+        WIDTHS.put("org.joda.time.DateTime", 29);
+        WIDTHS.put("org.joda.time.LocalDate", 10);
+    }
+
     public static class Param {
         private final ResolvedTypeParameterDeclaration parameter;
         private final Mapping mapping;
 
         public Param(ResolvedTypeParameterDeclaration parameter, Mapping mapping) {
             this.parameter = parameter;
-            this.mapping = new Mapping(mapping);
+            this.mapping = mapping.freeze();
         }
 
         @Override
@@ -90,7 +122,7 @@ public class Type {
 
     public Type(ResolvedType type, Mapping mapping) {
         this.type = type;
-        this.mapping = new Mapping(mapping);
+        this.mapping = mapping.freeze();
     }
 
     public boolean isArray() {
@@ -101,6 +133,29 @@ public class Type {
         return this.type.isPrimitive();
     }
 
+    /**
+     * Whether this is a one-dimensional array of primitives, compared with {@code Arrays.equals} rather than
+     * {@code Arrays.deepEquals}, which only accepts arrays of objects.
+     */
+    public boolean isPrimitiveArray() {
+        return this.type.isArray() && this.type.asArrayType().getComponentType().isPrimitive();
+    }
+
+    /**
+     * The qualified name of the wrapper class of a primitive type, {@code null} for other types.
+     */
+    public String getBox() {
+        return this.type.isPrimitive() ? this.type.asPrimitive().getBoxTypeQName() : null;
+    }
+
+    public boolean isEnum() {
+        if (this.type.isReferenceType()) {
+            Optional<ResolvedReferenceTypeDeclaration> declaration = this.type.asReferenceType().getTypeDeclaration();
+            return declaration.isPresent() && declaration.get().isEnum();
+        }
+        return false;
+    }
+
     public boolean isString() {
         return String.class.getName().equals(this.getName());
     }
@@ -109,6 +164,19 @@ public class Type {
         return toString(this.type);
     }
 
+    /**
+     * The typical number of characters printed by {@code toString()} for a value of this type, to presize buffers.
+     */
+    public int getWidth() {
+        if (this.type.isPrimitive()) {
+            return WIDTHS.get(this.type.asPrimitive().describe());
+        }
+        if (this.type.isReferenceType()) {
+            return WIDTHS.getOrDefault(this.type.asReferenceType().getQualifiedName(), WIDTH);
+        }
+        return WIDTH;
+    }
+
     public ResolvedType getType() {
         return this.type;
     }
@@ -79,4 +79,8 @@ public abstract class Unit extends Entity {
     public String type(Entity entity) {
         return this.mapping.resolve(entity);
     }
+
+    public String type(Type type) {
+        return Type.toString(type.getType(), this.mapping);
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Watch the source directories, and run the generator again each time a Java source file changes.</p>
+ *
+ * <p>
+ *     The same {@link Generator} is used for every run, so the dependency index and the parsed templates stay in
+ *     memory, and runs are incremental: only the interfaces whose source or ancestors changed are generated again,
+ *     and generated files whose content did not change are left untouched.
+ * </p>
+ */
+public class Watcher {
+
+    private static final Log log = new Log(Watcher.class);
+
+    /**
+     * How long the source directories must stay quiet before running, so that a burst of changes (an editor saving
+     * several files, a VCS checkout) only triggers one run.
+     */
+    private static final long QUIET = 100;
+    private static final String JAVA = ".java";
+
+    private final Configuration configuration;
+    private final Generator generator;
+    private final Map<WatchKey, Path> directories;
+    private final List<Path> outputs;
+
+    public Watcher(Configuration configuration, Generator generator) {
+        this.configuration = configuration;
+        this.generator = generator;
+        this.directories = new HashMap<WatchKey, Path>();
+        this.outputs = new ArrayList<Path>();
+        for (File output : new File[] { configuration.getOutput(), configuration.getTest(),
+                configuration.getBenchmark(), configuration.getResource() }) {
+            if (output != null) {
+                this.outputs.add(output.toPath().toAbsolutePath().normalize());
+            }
+        }
+    }
+
+    /**
+     * Watch until the thread is interrupted. Errors of a run are logged, and the next change triggers a new run.
+     */
+    public void run() throws IOException {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            for (File source : this.configuration.getSources()) {
+                if (source.exists()) {
+                    register(service, source.toPath());
+                }
+            }
+            log.info("Watching %d source directories for changes.", this.directories.size());
+
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                while (key != null) {
+                    changed |= process(service, key);
+                    key = service.poll(QUIET, TimeUnit.MILLISECONDS);
+                }
+                if (changed) {
+                    generate();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void generate() {
+        long start = System.nanoTime();
+        try {
+            this.generator.run();
+            log.info("Generated again in %d ms.", (System.nanoTime() - start) / 1000000);
+        } catch (Exception e) {
+            log.error("Error when running generator: " + e);
+        }
+    }
+
+    private boolean process(WatchService service, WatchKey key) throws IOException {
+        boolean changed = false;
+        Path directory = this.directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (ignored(path)) {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                register(service, path);
+                changed = true;
+            } else if (path.getFileName().toString().endsWith(JAVA)) {
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            this.directories.remove(key);
+        }
+        return changed;
+    }
+
+    private boolean ignored(Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        for (Path output : this.outputs) {
+            if (normalized.startsWith(output)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void register(WatchService service, Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                if (ignored(directory)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = directory.register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,114 @@
+<#----------------------------------------------------------------------------|
+
+  Copyright 2022-2023 The Billing Project, LLC
+
+  The Billing Project licenses this file to you under the Apache License, 
+  version 2.0 (the "License"); you may not use this file except in compliance 
+  with the License.  You may obtain a copy of the License at:
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+  License for the specific language governing permissions and limitations
+  under the License.
+
+|----------------------------------------------------------------------------->
+
+
+<#---------------------------------------------------------------------------->
+<#import "common.ftl" as common>
+<#import "header.ftl" as header>
+<#import "unit.ftl" as unit>
+<#---------------------------------------------------------------------------->
+<#macro renderBenchmark >
+    <#local var = declare("a", "b", "builder", "mapper", "s") />
+    <@common.block -8>
+
+        @${type("org.openjdk.jmh.annotations.State")}(${type("org.openjdk.jmh.annotations.Scope")}.Benchmark)
+        @${type("org.openjdk.jmh.annotations.BenchmarkMode")}(${type("org.openjdk.jmh.annotations.Mode")}.AverageTime)
+        @${type("org.openjdk.jmh.annotations.OutputTimeUnit")}(${type("java.util.concurrent.TimeUnit")}.NANOSECONDS)
+        public class ${moniker} {
+
+            private ${type("com.fasterxml.jackson.databind.ObjectMapper")} ${var["mapper"]};
+            private ${type(target)}.Builder<?> ${var["builder"]};
+            private ${type(target)} ${var["a"]};
+            private ${type(target)} ${var["b"]};
+            private ${type("java.lang.String")} ${var["s"]};
+
+            @${type("org.openjdk.jmh.annotations.Setup")}
+            public void setup() throws ${type("java.io.IOException")} {
+              ${var["mapper"]} = new ${type("com.fasterxml.jackson.databind.ObjectMapper")}();
+              ${var["mapper"]}.disable(${type("com.fasterxml.jackson.databind.SerializationFeature")}.WRITE_DATES_AS_TIMESTAMPS);
+              ${var["mapper"]}.registerModule(new ${type("com.fasterxml.jackson.datatype.joda.JodaModule")}());
+              ${var["mapper"]}.setDateFormat(new ${type("com.fasterxml.jackson.databind.util.StdDateFormat")}().withColonInTimeZone(true));
+              ${var["mapper"]}.findAndRegisterModules();
+
+              ${var["builder"]} = sample();
+              ${var["a"]} = ${var["builder"]}.build();
+              ${var["b"]} = new ${type(target)}(${var["a"]});
+              ${var["s"]} = ${var["mapper"]}.writeValueAsString(${var["a"]});
+            }
+            private static ${type(target)}.Builder<?> sample() {
+              final ${type(target)}.Builder<?> ${var["builder"]} = new ${type(target)}.Builder<>();
+              <#list target.properties as property>
+              <#if samples[property.field]??>
+              ${var["builder"]}.with${property.id}(${samples[property.field]});
+              </#if>
+              </#list>
+              return ${var["builder"]};
+            }
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public ${type(target)} build() {
+              return ${var["builder"]}.build();
+            }
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public ${type(target)} copy() {
+              return new ${type(target)}(${var["a"]});
+            }
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public boolean equalsCopy() {
+              return ${var["a"]}.equals(${var["b"]});
+            }
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public int hash() {
+              return ${var["a"]}.hashCode();
+            }
+            <#if target.immutable>
+            // The hash of a new instance, computed before it is cached; includes build()
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public int hashNew() {
+              return ${var["builder"]}.build().hashCode();
+            }
+            </#if>
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public ${type("java.lang.String")} string() {
+              return ${var["a"]}.toString();
+            }
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public ${type("java.lang.String")} serialize() throws ${type("java.io.IOException")} {
+              return ${var["mapper"]}.writeValueAsString(${var["a"]});
+            }
+            @${type("org.openjdk.jmh.annotations.Benchmark")}
+            public ${type(target.base)} deserialize() throws ${type("java.io.IOException")} {
+              return ${var["mapper"]}.readValue(${var["s"]}, ${type(target.base)}.class);
+            }
+        }
+    </@common.block>
+</#macro> 
+<#---------------------------------------------------------------------------->
+<#macro render>
+    <@common.block>
+        <@header.render/>
+
+        <@unit.package namespace/>
+
+        <@unit.import imports/>
+
+        <@renderBenchmark/>
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#---------------------------------------------------------------------------->
+<@render/>
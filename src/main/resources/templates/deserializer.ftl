@@ -0,0 +1,177 @@
+
+<#----------------------------------------------------------------------------|
+
+  Copyright 2022-2023 The Billing Project, LLC
+
+  The Billing Project licenses this file to you under the Apache License, 
+  version 2.0 (the "License"); you may not use this file except in compliance 
+  with the License.  You may obtain a copy of the License at:
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+  License for the specific language governing permissions and limitations
+  under the License.
+
+|----------------------------------------------------------------------------->
+
+
+<#---------------------------------------------------------------------------->
+<#import "common.ftl" as common>
+<#import "header.ftl" as header>
+<#import "unit.ftl" as unit>
+<#---------------------------------------------------------------------------->
+<#function constant property>
+    <#return constants[property.field]>
+</#function>
+<#---------------------------------------------------------------------------->
+<#function deserializer property>
+    <#return property.field + "Deserializer">
+</#function>
+<#---------------------------------------------------------------------------->
+<#-- Properties other than primitives and strings are read by the deserializer of their type, resolved once per mapper -->
+<#function resolved property>
+    <#return property.type.name == "char" || !(property.type.primitive || property.type.string)>
+</#function>
+<#---------------------------------------------------------------------------->
+<#-- Primitives are parsed like the bean deserializer does, other values go through the deserializer of their type -->
+<#function parse property>
+    <#local var = declare("parser", "context") />
+    <#switch property.type.name>
+        <#case "boolean">
+            <#return "_parseBooleanPrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "byte">
+            <#return "_parseBytePrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "short">
+            <#return "_parseShortPrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "int">
+            <#return "_parseIntPrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "long">
+            <#return "_parseLongPrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "float">
+            <#return "_parseFloatPrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "double">
+            <#return "_parseDoublePrimitive(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "char">
+            <#return "(Character) this." + deserializer(property) + ".deserialize(" + var["parser"] + ", " + var["context"] + ")">
+        <#case "java.lang.String">
+            <#return "readString(" + var["parser"] + ", " + var["context"] + ")">
+        <#default>
+            <#return "( " + var["parser"] + ".currentToken() == " + type("com.fasterxml.jackson.core.JsonToken") + ".VALUE_NULL ) ? null : (" + type(property.type) + ") this." + deserializer(property) + ".deserialize(" + var["parser"] + ", " + var["context"] + ")">
+    </#switch>
+</#function>
+<#---------------------------------------------------------------------------->
+<#-- Strings are read like StdDeserializer._parseString does for the usual tokens, which is deprecated since 2.14 -->
+<#macro renderReadString>
+    <#local var = declare("parser", "context", "value") />
+    <@common.block -4>
+        private static String readString(final ${type("com.fasterxml.jackson.core.JsonParser")} ${var["parser"]}, final ${type("com.fasterxml.jackson.databind.DeserializationContext")} ${var["context"]}) throws ${type("java.io.IOException")} {
+            if ( ${var["parser"]}.currentToken() == ${type("com.fasterxml.jackson.core.JsonToken")}.VALUE_NULL ) {
+                return null;
+            }
+            final String ${var["value"]} = ${var["parser"]}.getValueAsString();
+            return ( ${var["value"]} != null ) ? ${var["value"]} : (String) ${var["context"]}.handleUnexpectedToken(String.class, ${var["parser"]});
+        }
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#macro renderDeserializer>
+    <#local var = declare("parser", "context", "builder", "token", "name") />
+    <@common.block -8>
+        public class ${moniker} extends ${type("com.fasterxml.jackson.databind.deser.std.StdDeserializer")}<${type(target)}> implements ${type("com.fasterxml.jackson.databind.deser.ResolvableDeserializer")} {
+
+            <#list target.properties as property>
+                <#if property.type.name == "char" >
+                    <@common.block -12>
+                        private static final ${type("com.fasterxml.jackson.databind.JavaType")} ${constant(property)} = ${type("com.fasterxml.jackson.databind.type.TypeFactory")}.defaultInstance().constructType(char.class);
+                    </@common.block>
+                <#elseif !(property.type.primitive || property.type.string) >
+                    <@common.block -12>
+                        private static final ${type("com.fasterxml.jackson.databind.JavaType")} ${constant(property)} = ${type("com.fasterxml.jackson.databind.type.TypeFactory")}.defaultInstance().constructType(new ${type("com.fasterxml.jackson.core.type.TypeReference")}<${type(property.type)}>() { });
+                    </@common.block>
+                </#if>
+            </#list>
+
+            <#list target.properties?filter(property -> resolved(property)) as property>
+                <@common.block -8>
+                    private ${type("com.fasterxml.jackson.databind.JsonDeserializer")}<Object> ${deserializer(property)};
+                </@common.block>
+                <#if property?is_last>
+
+                </#if>
+            </#list>
+            public ${moniker}() {
+                super(${type(target)}.class);
+            }
+
+            /**
+             * Find the deserializers of the properties once, when the mapper builds this deserializer, so that the
+             * ones of nested values are built along with it. A new instance is created for each mapper.
+             */
+            @${type("java.lang.Override")}
+            public void resolve(final ${type("com.fasterxml.jackson.databind.DeserializationContext")} ${var["context"]}) throws ${type("com.fasterxml.jackson.databind.JsonMappingException")} {
+                <#list target.properties?filter(property -> resolved(property)) as property>
+                    <@common.block -8>
+                        this.${deserializer(property)} = ${var["context"]}.findRootValueDeserializer(${constant(property)});
+                    </@common.block>
+                </#list>
+            }
+
+            @${type("java.lang.Override")}
+            public boolean isCachable() {
+                return true;
+            }
+
+            @${type("java.lang.Override")}
+            @${type("java.lang.SuppressWarnings")}("unchecked")
+            public ${type(target)} deserialize(final ${type("com.fasterxml.jackson.core.JsonParser")} ${var["parser"]}, final ${type("com.fasterxml.jackson.databind.DeserializationContext")} ${var["context"]}) throws ${type("java.io.IOException")} {
+                final ${type(target.builder)}<?> ${var["builder"]} = new ${type(target.builder)}<>();
+                ${type("com.fasterxml.jackson.core.JsonToken")} ${var["token"]} = ${var["parser"]}.currentToken();
+                if ( ${var["token"]} == ${type("com.fasterxml.jackson.core.JsonToken")}.START_OBJECT ) {
+                    ${var["token"]} = ${var["parser"]}.nextToken();
+                } else if ( ${var["token"]} != ${type("com.fasterxml.jackson.core.JsonToken")}.FIELD_NAME ) {
+                    return (${type(target)}) ${var["context"]}.handleUnexpectedToken(${type(target)}.class, ${var["parser"]});
+                }
+                for ( ; ${var["token"]} == ${type("com.fasterxml.jackson.core.JsonToken")}.FIELD_NAME; ${var["token"]} = ${var["parser"]}.nextToken() ) {
+                    final String ${var["name"]} = ${var["parser"]}.currentName();
+                    ${var["parser"]}.nextToken();
+                    switch ( ${var["name"]} ) {
+                        <#list target.properties as property>
+                            <@common.block -8>
+                                case "${property.jsonName}":
+                                    ${var["builder"]}.with${property.id}(${parse(property)});
+                                    break;
+                            </@common.block>
+                        </#list>
+                        default:
+                            handleUnknownProperty(${var["parser"]}, ${var["context"]}, ${type(target)}.class, ${var["name"]});
+                    }
+                }
+                return ${var["builder"]}.build();
+            }
+            <#if target.properties?filter(property -> property.type.string)?has_content>
+
+                <@common.block 8>
+                    <@renderReadString/>
+                </@common.block>
+            </#if>
+        }
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#macro render>
+    <@common.block>
+        <@header.render/>
+
+        <@unit.package namespace/>
+
+        <@unit.import imports/>
+
+        <@renderDeserializer/>
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#---------------------------------------------------------------------------->
+<@render/>
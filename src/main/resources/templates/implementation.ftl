@@ -88,11 +88,19 @@
 <#---------------------------------------------------------------------------->
 <#macro renderSetter setter field>
     <@renderSetterHeader setter field/>
-    <@common.block -8>
-        {
-            this.${field} = ${field};
-        }
-    </@common.block>
+    <#if immutable>
+        <@common.block -12>
+            {
+                throw new UnsupportedOperationException("${setter.signature} is not supported by an immutable ${moniker}.");
+            }
+        </@common.block>
+    <#else>
+        <@common.block -12>
+            {
+                this.${field} = ${field};
+            }
+        </@common.block>
+    </#if>
 </#macro>
 <#---------------------------------------------------------------------------->
 <#macro renderGetter getter field>
@@ -111,13 +119,18 @@
             <#list properties as property>
             this.${property.field} = ${var["that"]}.${property.field};
             </#list>
+            <#if immutable>
+            this.${hash} = ${var["that"]}.${hash};
+            </#if>
         }
         protected ${moniker}(final ${type(builder)}<?> ${var["builder"]}) {
             <#list properties as property>
             this.${property.field} = ${var["builder"]}.${property.field};
             </#list>
         }
+        <#if !immutable>
         protected ${moniker}() { }
+        </#if>
     </@common.block>
 </#macro>
 <#---------------------------------------------------------------------------->
@@ -126,7 +139,8 @@
     <@common.block -8>
         @${type("java.lang.Override")}
         public String toString() {
-            final StringBuffer ${var["sb"]} = new StringBuffer(this.getClass().getSimpleName());
+            final StringBuilder ${var["sb"]} = new StringBuilder(${toStringCapacity?c});
+            ${var["sb"]}.append(this.getClass().getSimpleName());
             ${var["sb"]}.append("{");
             <#list properties as property>
                 <#if property?index gt 0>
@@ -169,13 +183,19 @@
             <#if properties?size gt 0 >
                 <@common.block -8>
                     final ${type(name)} ${var["that"]} = (${type(name)}) ${var["o"]};
-                    <#list properties as property>
+                    <#list equalities as property>
                         <#if property.type.primitive>
                             <@common.block -12>
                                 if( this.${property.field} != ${var["that"]}.${property.field} ) {
                                     return false;       
                                 }
                             </@common.block>
+                        <#elseif property.type.primitiveArray>
+                            <@common.block -12>
+                                if( !${type("java.util.Arrays")}.equals(this.${property.field}, ${var["that"]}.${property.field}) ) {
+                                    return false;
+                                }
+                            </@common.block>
                         <#elseif property.type.array>
                             <@common.block -12>
                                 if( !${type("java.util.Arrays")}.deepEquals(this.${property.field}, ${var["that"]}.${property.field}) ) {
@@ -203,24 +223,52 @@
     </@common.block>
 </#macro>
 <#---------------------------------------------------------------------------->
+<#macro renderHash result>
+    <@common.block -12>
+        <#list properties as property>
+            <#if property.type.primitive>
+                ${result} = ( 31 * ${result} ) + ${type(property.type.box)}.hashCode(this.${property.field});
+            <#elseif property.type.primitiveArray>
+                ${result} = ( 31 * ${result} ) + ${type("java.util.Arrays")}.hashCode(this.${property.field});
+            <#elseif property.type.array>
+                ${result} = ( 31 * ${result} ) + ${type("java.util.Arrays")}.deepHashCode(this.${property.field});
+            <#else>
+                ${result} = ( 31 * ${result} ) + ${type("java.util.Objects")}.hashCode(this.${property.field});
+            </#if>
+        </#list>
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
 <#macro renderHashCode >
     <#local var = declare("result")>
-    <@common.block -8>
-        @${type("java.lang.Override")}
-        public int hashCode() {
-            int ${var["result"]} = 1;
-            <@common.block -12>
-                <#list properties as property>
-                    <#if property.type.array>
-                        ${var["result"]} = ( 31 * ${var["result"]} ) + ${type("java.util.Arrays")}.deepHashCode(this.${property.field});
-                    <#else>
-                        ${var["result"]} = ( 31 * ${var["result"]} ) + ${type("java.util.Objects")}.hashCode(this.${property.field});
-                    </#if>
-                </#list>
-            </@common.block>
-            return ${var["result"]};
-        }
-    </@common.block>
+    <#if immutable>
+        <#-- The fields never change: compute the hash once, racy but idempotent like java.lang.String -->
+        <@common.block -12>
+            @${type("java.lang.Override")}
+            public int hashCode() {
+                int ${var["result"]} = this.${hash};
+                if ( ${var["result"]} == 0 ) {
+                    ${var["result"]} = 1;
+                    <@common.block 16>
+                        <@renderHash var["result"] />
+                    </@common.block>
+                    this.${hash} = ${var["result"]};
+                }
+                return ${var["result"]};
+            }
+        </@common.block>
+    <#else>
+        <@common.block -12>
+            @${type("java.lang.Override")}
+            public int hashCode() {
+                int ${var["result"]} = 1;
+                <@common.block 12>
+                    <@renderHash var["result"] />
+                </@common.block>
+                return ${var["result"]};
+            }
+        </@common.block>
+    </#if>
 </#macro>
 <#---------------------------------------------------------------------------->
 <#macro renderBuilder >
@@ -275,8 +323,11 @@
         public class ${moniker} implements ${type(base)} {
 
             <#list properties as property>
-            protected <#if property.setters?size lt 0>final </#if>${property.type} ${property.field};
+            protected <#if immutable>final </#if>${property.type} ${property.field};
             </#list>
+            <#if immutable>
+            private int ${hash};
+            </#if>
             
             <@common.block 12>
                 <@renderConstructor/>
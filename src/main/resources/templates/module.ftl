@@ -24,15 +24,69 @@
 <#import "unit.ftl" as unit>
 <#---------------------------------------------------------------------------->
 <#macro renderModule>
+    <#local var = declare("context", "annotated", "mapper", "start") />
     <@common.block -8>
         public class ${moniker} extends ${type(base)} {
             public ${moniker}(){
                 this.setAbstractTypes(new ${type(resolver.name)}());
+                <#if serializers>
+                    <#list resolver.implementations as implementation>
+                        <@common.block -12>
+                            this.addSerializer(${type(implementation.name)}.class, new ${type(implementation.name + serializerSuffix)}());
+                        </@common.block>
+                    </#list>
+                </#if>
             }
             @${type("java.lang.Override")}
             public String getModuleName(){
                 return "${namespace}";
             }
+            <#if serializers>
+                <@common.block -8>
+                    @${type("java.lang.Override")}
+                    public void setupModule(final SetupContext ${var["context"]}){
+                        super.setupModule(${var["context"]});
+                        <@common.block -4>
+                            // The POJOs name their builder with @JsonDeserialize, which Jackson follows before asking modules for a deserializer
+                            ${var["context"]}.insertAnnotationIntrospector(new ${type("com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector")}() {
+                                @${type("java.lang.Override")}
+                                public Object findDeserializer(final ${type("com.fasterxml.jackson.databind.introspect.Annotated")} ${var["annotated"]}) {
+                                    if ( ${var["annotated"]} instanceof ${type("com.fasterxml.jackson.databind.introspect.AnnotatedClass")} ) {
+                                        <#list resolver.implementations as implementation>
+                                            <@common.block -8>
+                                                if ( ${var["annotated"]}.getRawType() == ${type(implementation.name)}.class ) {
+                                                    return ${type(implementation.name + deserializerSuffix)}.class;
+                                                }
+                                            </@common.block>
+                                        </#list>
+                                    }
+                                    return null;
+                                }
+                            });
+                        </@common.block>
+                    }
+                </@common.block>
+            </#if>
+            <#if warmUp>
+                <@common.block -8>
+                    /**
+                     * Build the serializers and deserializers of the POJOs of this package, and of the values they
+                     * hold, and return the time spent in nanoseconds. Jackson caches what it builds, so call it once
+                     * every module is registered to the mapper.
+                     */
+                    public long warmUp(final ${type("com.fasterxml.jackson.databind.ObjectMapper")} ${var["mapper"]}){
+                        final long ${var["start"]} = System.nanoTime();
+                        <#list resolver.implementations as implementation>
+                            <@common.block -8>
+                                ${var["mapper"]}.canSerialize(${type(implementation.name)}.class);
+                                ${var["mapper"]}.canDeserialize(${var["mapper"]}.constructType(${type(implementation.base)}.class));
+                                ${var["mapper"]}.canDeserialize(${var["mapper"]}.constructType(${type(implementation.name)}.class));
+                            </@common.block>
+                        </#list>
+                        return System.nanoTime() - ${var["start"]};
+                    }
+                </@common.block>
+            </#if>
         }
     </@common.block>
 </#macro> 
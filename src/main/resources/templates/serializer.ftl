@@ -0,0 +1,135 @@
+
+<#----------------------------------------------------------------------------|
+
+  Copyright 2022-2023 The Billing Project, LLC
+
+  The Billing Project licenses this file to you under the Apache License, 
+  version 2.0 (the "License"); you may not use this file except in compliance 
+  with the License.  You may obtain a copy of the License at:
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+  License for the specific language governing permissions and limitations
+  under the License.
+
+|----------------------------------------------------------------------------->
+
+
+<#---------------------------------------------------------------------------->
+<#import "common.ftl" as common>
+<#import "header.ftl" as header>
+<#import "unit.ftl" as unit>
+<#---------------------------------------------------------------------------->
+<#function constant property>
+    <#return constants[property.field]>
+</#function>
+<#---------------------------------------------------------------------------->
+<#macro renderValue property accessor>
+    <#local var = declare("value", "generator", "provider") />
+    <#switch property.type.name>
+        <#case "boolean">
+            ${var["generator"]}.writeBoolean(${var["value"]}.${accessor.name}());
+            <#break>
+        <#case "char">
+            ${var["generator"]}.writeString(String.valueOf(${var["value"]}.${accessor.name}()));
+            <#break>
+        <#case "byte">
+        <#case "short">
+        <#case "int">
+        <#case "long">
+        <#case "float">
+        <#case "double">
+            ${var["generator"]}.writeNumber(${var["value"]}.${accessor.name}());
+            <#break>
+        <#case "java.lang.String">
+            ${var["generator"]}.writeString(${var["value"]}.${accessor.name}());
+            <#break>
+        <#default>
+            ${var["provider"]}.defaultSerializeValue(${var["value"]}.${accessor.name}(), ${var["generator"]});
+    </#switch>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#macro renderProperty property>
+    <#local var = declare("value", "generator") />
+    <#local accessor = (property.isser)!property.getter />
+    <#if property.type.primitive>
+        <@common.block -4>
+            ${var["generator"]}.writeFieldName(${constant(property)});
+            <@renderValue property=property accessor=accessor />
+        </@common.block>
+    <#else>
+        <@common.block -4>
+            if ( !this.nonNull || ( ${var["value"]}.${accessor.name}() != null ) ) {
+                ${var["generator"]}.writeFieldName(${constant(property)});
+                <@common.block 4>
+                    <@renderValue property=property accessor=accessor />
+                </@common.block>
+            }
+        </@common.block>
+    </#if>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#macro renderSerializer>
+    <#local var = declare("value", "generator", "provider", "property", "inclusion", "nonNull") />
+    <@common.block -8>
+        public class ${moniker} extends ${type("com.fasterxml.jackson.databind.ser.std.StdSerializer")}<${type(target)}> implements ${type("com.fasterxml.jackson.databind.ser.ContextualSerializer")} {
+
+            <#list properties as property>
+                <@common.block -8>
+                    private static final ${type("com.fasterxml.jackson.core.io.SerializedString")} ${constant(property)} = new ${type("com.fasterxml.jackson.core.io.SerializedString")}("${property.jsonName}");
+                </@common.block>
+            </#list>
+
+            private final boolean nonNull;
+
+            public ${moniker}() {
+                this(false);
+            }
+
+            private ${moniker}(final boolean ${var["nonNull"]}) {
+                super(${type(target)}.class);
+                this.nonNull = ${var["nonNull"]};
+            }
+
+            /**
+             * Leave null values out when the default property inclusion of the mapper does.
+             */
+            @${type("java.lang.Override")}
+            public ${type("com.fasterxml.jackson.databind.JsonSerializer")}<?> createContextual(final ${type("com.fasterxml.jackson.databind.SerializerProvider")} ${var["provider"]}, final ${type("com.fasterxml.jackson.databind.BeanProperty")} ${var["property"]}) {
+                final ${type("com.fasterxml.jackson.annotation.JsonInclude")}.Include ${var["inclusion"]} = ${var["provider"]}.getConfig().getDefaultPropertyInclusion(${type(target)}.class).getValueInclusion();
+                final boolean ${var["nonNull"]} = ( ${var["inclusion"]} == ${type("com.fasterxml.jackson.annotation.JsonInclude")}.Include.NON_NULL ) || ( ${var["inclusion"]} == ${type("com.fasterxml.jackson.annotation.JsonInclude")}.Include.NON_ABSENT ) ||
+                        ( ${var["inclusion"]} == ${type("com.fasterxml.jackson.annotation.JsonInclude")}.Include.NON_EMPTY ) || ( ${var["inclusion"]} == ${type("com.fasterxml.jackson.annotation.JsonInclude")}.Include.NON_DEFAULT );
+                return ( ${var["nonNull"]} == this.nonNull ) ? this : new ${moniker}(${var["nonNull"]});
+            }
+
+            @${type("java.lang.Override")}
+            public void serialize(final ${type(target)} ${var["value"]}, final ${type("com.fasterxml.jackson.core.JsonGenerator")} ${var["generator"]}, final ${type("com.fasterxml.jackson.databind.SerializerProvider")} ${var["provider"]}) throws ${type("java.io.IOException")} {
+                ${var["generator"]}.writeStartObject(${var["value"]});
+                <#list properties as property>
+                    <@common.block 8>
+                        <@renderProperty property=property />
+                    </@common.block>
+                </#list>
+                ${var["generator"]}.writeEndObject();
+            }
+        }
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#macro render>
+    <@common.block>
+        <@header.render/>
+
+        <@unit.package namespace/>
+
+        <@unit.import imports/>
+
+        <@renderSerializer/>
+    </@common.block>
+</#macro>
+<#---------------------------------------------------------------------------->
+<#---------------------------------------------------------------------------->
+<@render/>
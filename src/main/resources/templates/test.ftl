@@ -24,7 +24,7 @@
 <#import "unit.ftl" as unit>
 <#---------------------------------------------------------------------------->
 <#macro renderTest >
-    <#local var = declare("a", "b", "mapper", "s") />
+    <#local var = declare("a", "b", "builder", "hash", "mapper", "s") />
     <@common.block -8>
             
         @${type("org.testng.annotations.Test")}(groups = { "fast" })
@@ -67,6 +67,34 @@
 
               ${type("org.testng.Assert")}.assertTrue(${var["a"]}.toString().equals(${var["b"]}.toString()));
             }
+            <#if target.immutable>
+            @${type("org.testng.annotations.Test")}
+            public void theHashcodeShouldNotChangeAfterBuild()
+            {
+              ${type(target)}.Builder<?> ${var["builder"]} = sample();
+              ${type(target)} ${var["a"]} = ${var["builder"]}.build();
+              int ${var["hash"]} = ${var["a"]}.hashCode();
+              ${type(target)} ${var["b"]} = ${var["builder"]}.build();
+
+              // The hash cached by a, against the one computed by b, a new instance with the same values
+              ${type("org.testng.Assert")}.assertEquals(${var["a"]}.hashCode(), ${var["hash"]});
+              ${type("org.testng.Assert")}.assertEquals(${var["b"]}.hashCode(), ${var["hash"]});
+              ${type("org.testng.Assert")}.assertEquals(new ${type(target)}(${var["a"]}).hashCode(), ${var["hash"]});
+              <#if samples?has_content>
+              // A hash cached before the fields are set would be the one of an empty instance
+              ${type("org.testng.Assert")}.assertNotEquals(new ${type(target)}.Builder<>().build().hashCode(), ${var["hash"]});
+              </#if>
+            }
+            private static ${type(target)}.Builder<?> sample() {
+              final ${type(target)}.Builder<?> ${var["builder"]} = new ${type(target)}.Builder<>();
+              <#list target.properties as property>
+              <#if samples[property.field]??>
+              ${var["builder"]}.with${property.id}(${samples[property.field]});
+              </#if>
+              </#list>
+              return ${var["builder"]};
+            }
+            </#if>
             @${type("org.testng.annotations.Test")}
             public void callIssers()
             {
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The synthetic interfaces of the {@code corpus} test resources, copied to a work directory so that tests can change
+ * them, and generated with the settings of each test.
+ */
+class Corpus {
+
+    static final List<String> PACKAGES = Arrays.asList("com.acme.api", "com.acme.catalog", "com.acme.invoice");
+
+    private final File work;
+    private final File sources;
+
+    Corpus(File work) throws Exception {
+        this.work = work;
+        this.sources = new File(work, "corpus");
+        FileUtils.copyDirectory(new File(Corpus.class.getResource("/corpus").toURI()), this.sources);
+    }
+
+    File getSources() {
+        return this.sources;
+    }
+
+    File source(String name) {
+        return Namespaces.file(this.sources, Namespaces.namespace(name, Namespaces.moniker(name)), name);
+    }
+
+    /**
+     * The settings of a run writing to {@code output} under the work directory.
+     */
+    Settings settings(String output) {
+        Settings settings = new Settings();
+        settings.setSources(Collections.singletonList(this.sources));
+        settings.setDependencyDirectories(new ArrayList<File>());
+        settings.setDependencyIndex(new File(this.work, "dependencies.idx"));
+        settings.setPackages(PACKAGES);
+        settings.setComparables(Collections.singletonList("java.math.BigDecimal"));
+        settings.setOutput(new File(this.work, output));
+        settings.setSubpackage("boilerplate");
+        settings.setSuffix("Imp");
+        settings.setResolver("Resolver");
+        settings.setModule("Module");
+        return settings;
+    }
+
+    static Generator generate(Settings settings) throws Exception {
+        Templates templates = Templates.shared(StandardCharsets.UTF_8, Resources.class, "/templates");
+        Generator generator = new Generator(new Configuration(StandardCharsets.UTF_8, templates, settings));
+        generator.run();
+        return generator;
+    }
+
+    /**
+     * The content of every file under a directory, by relative path.
+     */
+    static Map<String, String> files(File directory) throws Exception {
+        TreeMap<String, String> files = new TreeMap<String, String>();
+        for (File file : FileUtils.listFiles(directory, null, true)) {
+            files.put(directory.toPath().relativize(file.toPath()).toString(),
+                    FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        }
+        return files;
+    }
+
+    /**
+     * Compile the interfaces along with the classes generated from them, failing on deprecation warnings, and load
+     * them in a new class loader.
+     */
+    ClassLoader compile(File output) throws Exception {
+        File classes = new File(this.work, "classes");
+        FileUtils.forceMkdir(classes);
+        ArrayList<String> arguments = new ArrayList<String>(Arrays.asList("-Xlint:deprecation", "-Werror", "-d", classes.getPath(),
+                "-classpath", System.getProperty("java.class.path")));
+        for (File directory : Arrays.asList(this.sources, output)) {
+            for (File file : FileUtils.listFiles(directory, new String[] {"java"}, true)) {
+                arguments.add(file.getPath());
+            }
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int status = compiler.run(null, null, errors, arguments.toArray(new String[0]));
+        Assert.assertEquals(status, 0, errors.toString(StandardCharsets.UTF_8));
+        return new URLClassLoader(new URL[] {classes.toURI().toURL()}, Corpus.class.getClassLoader());
+    }
+}
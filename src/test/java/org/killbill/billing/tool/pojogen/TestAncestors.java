@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * The methods of ancestors shared between the interfaces that extend them.
+ */
+public class TestAncestors {
+
+    @Test(groups = "slow")
+    void implementLikeWithoutTheSharedMethods() throws Exception {
+        File work = Files.createTempDirectory("pojogen-ancestors").toFile();
+        try {
+            Corpus corpus = new Corpus(work);
+            FileUtils.writeStringToFile(corpus.source("com.acme.api.Counter"), "package com.acme.api;\n" +
+                    "public interface Counter extends Named<Integer> {\n    long getCount();\n}\n", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(corpus.source("com.acme.api.Alias"), "package com.acme.api;\n" +
+                    "public interface Alias extends Entity, Named<java.util.List<String>> {\n}\n", StandardCharsets.UTF_8);
+            Settings settings = corpus.settings("output");
+            Templates templates = Templates.shared(StandardCharsets.UTF_8, Resources.class, "/templates");
+            Configuration configuration = new Configuration(StandardCharsets.UTF_8, templates, settings);
+            Solver solver = Solver.create(configuration, Dependencies.create(configuration));
+
+            Ancestors ancestors = new Ancestors();
+            for (String name : List.of("com.acme.api.Account", "com.acme.api.Counter", "com.acme.catalog.Plan", "com.acme.api.Alias")) {
+                ResolvedReferenceTypeDeclaration declaration = solver.resolve(name).get();
+                Entity entity = new Entity(configuration.rename(declaration.getPackageName()),
+                        configuration.rename(declaration.getPackageName(), declaration.getQualifiedName()));
+                Entity base = new Entity(declaration);
+                String shared = Implementation.create(configuration, Symbols.java(), declaration.asInterface(), entity, base,
+                        ancestors).toString();
+                String alone = Implementation.create(configuration, Symbols.java(), declaration.asInterface(), entity, base)
+                        .toString();
+                Assert.assertEquals(shared, alone, name);
+            }
+            Assert.assertEquals(ancestors.getMisses(), 4);
+            Assert.assertEquals(ancestors.getHits(), 3);
+        } finally {
+            FileUtils.deleteDirectory(work);
+        }
+    }
+}
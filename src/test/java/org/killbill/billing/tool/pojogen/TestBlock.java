@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.MultiTemplateLoader;
+import freemarker.cache.StringTemplateLoader;
+import freemarker.cache.TemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateExceptionHandler;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * The {@code block} macro implemented by {@link Block}, against the FTL macro it replaced, kept in the {@code legacy}
+ * test resources.
+ */
+public class TestBlock {
+
+    private static final String BLANKS = " \t";
+    private static final String LETTERS = "ab{";
+
+    private Configuration configuration;
+
+    @BeforeClass(groups = "fast")
+    void setup() {
+        StringTemplateLoader strings = new StringTemplateLoader();
+        strings.putTemplate("java.ftl", "<#import \"common.ftl\" as common>" +
+                "<@common.block left=left bottom=bottom top=top>${input}</@common.block>");
+        strings.putTemplate("legacy.ftl", "<#import \"block.ftl\" as legacy>" +
+                "<@legacy.block left=left bottom=bottom top=top>${input}</@legacy.block>");
+        this.configuration = new Configuration(Configuration.VERSION_2_3_31);
+        this.configuration.setTemplateLoader(new MultiTemplateLoader(new TemplateLoader[] {strings,
+                new ClassTemplateLoader(Resources.class, "/legacy"), new ClassTemplateLoader(Resources.class, "/templates")}));
+        this.configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        this.configuration.setSharedVariable(Block.NAME, new Block());
+    }
+
+    private String render(String template, String input, int left, int bottom, int top) throws Exception {
+        HashMap<String, Object> model = new HashMap<String, Object>();
+        model.put("input", input);
+        model.put("left", left);
+        model.put("bottom", bottom);
+        model.put("top", top);
+        StringWriter writer = new StringWriter();
+        this.configuration.getTemplate(template).process(model, writer);
+        return writer.toString();
+    }
+
+    private void check(String input, int left, int bottom, int top) throws Exception {
+        Assert.assertEquals(render("java.ftl", input, left, bottom, top), render("legacy.ftl", input, left, bottom, top),
+                String.format("left=%d bottom=%d top=%d input=<%s>", left, bottom, top, input));
+    }
+
+    @Test(groups = "fast")
+    void indent() throws Exception {
+        Assert.assertEquals(render("java.ftl", "a\n  b  \n\n    c", 4, 0, 0), "    a\n      b\n\n        c");
+        Assert.assertEquals(render("java.ftl", "    a\n  b\n\tc", -3, 0, 0), " a\nb\nc");
+        Assert.assertEquals(render("java.ftl", "  a  \n  b  ", 0, 0, 0), "  a  \n  b  ");
+    }
+
+    @Test(groups = "fast")
+    void addAndDropLines() throws Exception {
+        Assert.assertEquals(render("java.ftl", "a\nb", 0, 1, 2), "\n\na\nb\n");
+        Assert.assertEquals(render("java.ftl", "a\nb\nc\nd", 0, -1, -2), "c");
+        check("a\nb", 2, 1, 2);
+        check("a\nb\nc\nd", -2, -1, -2);
+        check("", 4, 0, 0);
+        check("", 0, -1, -1);
+    }
+
+    /**
+     * string.right_trim returned its input untouched when its last non blank character was the first one.
+     */
+    @Test(groups = "fast")
+    void keepTheTrailingBlanksOfLinesWithOneCharacter() throws Exception {
+        Assert.assertEquals(render("java.ftl", "}  \n  }  ", 4, 0, 0), "    }  \n      }");
+        check("}  \n  }  ", 4, 0, 0);
+        check("}  \n  }  ", -4, 0, 0);
+    }
+
+    @Test(groups = "fast")
+    void matchTheLegacyMacro() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder input = new StringBuilder();
+            int lines = random.nextInt(5);
+            for (int line = 0; line < lines; line++) {
+                if (line > 0) {
+                    input.append('\n');
+                }
+                for (int n = random.nextInt(8); n > 0; n--) {
+                    input.append(BLANKS.charAt(random.nextInt(BLANKS.length())));
+                }
+                for (int n = random.nextInt(4); n > 0; n--) {
+                    String chars = random.nextBoolean() ? BLANKS : LETTERS;
+                    input.append(chars.charAt(random.nextInt(chars.length())));
+                }
+            }
+            check(input.toString(), random.nextInt(25) - 12, random.nextInt(5) - 2, random.nextInt(5) - 2);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The dependency index, over copies of jars of the test class path.
+ */
+public class TestDependencies {
+
+    private static final String IO = "org.apache.commons.io.FileUtils";
+    private static final String ANNOTATIONS = "com.fasterxml.jackson.annotation.JsonGetter";
+
+    private File work;
+    private File jars;
+    private File index;
+
+    @BeforeMethod(groups = "fast")
+    void setup() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-dependencies").toFile();
+        this.jars = new File(this.work, "jars");
+        this.index = new File(this.work, "dependencies.idx");
+        FileUtils.copyFile(jar(FileUtils.class), new File(this.jars, "io.jar"), true);
+        FileUtils.copyFile(jar(JsonGetter.class), new File(this.jars, "annotations.jar"), true);
+    }
+
+    @AfterMethod(groups = "fast", alwaysRun = true)
+    void delete() throws Exception {
+        FileUtils.deleteDirectory(this.work);
+    }
+
+    private static File jar(Class<?> type) throws Exception {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private Dependencies create() {
+        return Dependencies.create(List.of(this.jars), this.index);
+    }
+
+    private static boolean solves(Dependencies dependencies, String name) {
+        TypeSolver solver = dependencies.newTypeSolver();
+        return solver.tryToSolveType(name).isSolved();
+    }
+
+    /**
+     * Make the index list other packages for a jar, with its size and modification time, so that it is only right
+     * about the jar as long as the jar is not read again.
+     */
+    private void forge(String name, String packages) throws Exception {
+        File jar = new File(this.jars, name);
+        List<String> lines = Files.readAllLines(this.index.toPath(), StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).startsWith(jar.getAbsolutePath() + "\t")) {
+                lines.set(i, String.join("\t", jar.getAbsolutePath(), Long.toString(jar.length()),
+                        Long.toString(jar.lastModified()), packages));
+            }
+        }
+        Files.write(this.index.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    @Test(groups = "fast")
+    void readTheIndexBack() throws Exception {
+        Dependencies first = create();
+        Assert.assertEquals(first.size(), 2);
+        Assert.assertTrue(solves(first, IO));
+        Assert.assertTrue(solves(first, ANNOTATIONS));
+        String written = FileUtils.readFileToString(this.index, StandardCharsets.UTF_8);
+        Assert.assertTrue(written.contains("\torg.apache.commons.io,"), written);
+
+        Dependencies second = create();
+        Assert.assertEquals(second.size(), 2);
+        Assert.assertTrue(solves(second, IO));
+        Assert.assertTrue(solves(second, ANNOTATIONS));
+        Assert.assertFalse(solves(second, "org.apache.commons.io.Missing"));
+        Assert.assertEquals(FileUtils.readFileToString(this.index, StandardCharsets.UTF_8), written);
+        Assert.assertEquals(Set.of(this.work.list()), Set.of("dependencies.idx", "jars"));
+    }
+
+    @Test(groups = "fast")
+    void trustTheIndexOfUnchangedJars() throws Exception {
+        create();
+        forge("io.jar", "org.example");
+        Assert.assertFalse(solves(create(), IO));
+    }
+
+    @Test(groups = "fast")
+    void readJarsAgainWhenTheirModificationTimeChanges() throws Exception {
+        create();
+        forge("io.jar", "org.example");
+        File jar = new File(this.jars, "io.jar");
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() - 60000L));
+
+        Assert.assertTrue(solves(create(), IO));
+        Assert.assertFalse(FileUtils.readFileToString(this.index, StandardCharsets.UTF_8).contains("org.example"));
+    }
+
+    @Test(groups = "fast")
+    void readJarsAgainWhenTheirSizeChanges() throws Exception {
+        create();
+        forge("io.jar", "org.example");
+        File jar = new File(this.jars, "io.jar");
+        long modified = jar.lastModified();
+        FileUtils.copyFile(jar(JsonGetter.class), jar);
+        Assert.assertTrue(jar.setLastModified(modified));
+
+        Dependencies dependencies = create();
+        Assert.assertFalse(solves(dependencies, IO));
+        Assert.assertTrue(solves(dependencies, ANNOTATIONS));
+        String written = FileUtils.readFileToString(this.index, StandardCharsets.UTF_8);
+        Assert.assertFalse(written.contains("org.example"), written);
+        Assert.assertTrue(written.contains(String.join("\t", jar.getAbsolutePath(), Long.toString(jar.length()),
+                Long.toString(modified), "")), written);
+    }
+
+    @Test(groups = "fast")
+    void dropRemovedJarsFromTheIndex() throws Exception {
+        create();
+        Assert.assertTrue(new File(this.jars, "annotations.jar").delete());
+
+        Dependencies dependencies = create();
+        Assert.assertEquals(dependencies.size(), 1);
+        Assert.assertFalse(solves(dependencies, ANNOTATIONS));
+        Assert.assertFalse(FileUtils.readFileToString(this.index, StandardCharsets.UTF_8).contains("annotations.jar"));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How the generator writes its files over the output of a previous run.
+ */
+public class TestGenerator {
+
+    private static final long MODIFIED = 946684800000L;
+    private static final String INVOICE = "com/acme/invoice/boilerplate/InvoiceImp.java";
+
+    private File work;
+    private Settings settings;
+    private Map<String, String> expected;
+    private int files;
+
+    @BeforeMethod(groups = "slow")
+    void setup() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-generator").toFile();
+        this.settings = new Corpus(this.work).settings("output");
+        Generator generator = Corpus.generate(this.settings);
+        this.expected = Corpus.files(this.settings.getOutput());
+        this.files = this.expected.size();
+        Assert.assertEquals(count(generator, "writtenFiles"), this.files);
+        for (File file : FileUtils.listFiles(this.settings.getOutput(), null, true)) {
+            Assert.assertTrue(file.setLastModified(MODIFIED));
+        }
+    }
+
+    @AfterMethod(groups = "slow", alwaysRun = true)
+    void delete() throws Exception {
+        FileUtils.deleteDirectory(this.work);
+    }
+
+    private static long count(Generator generator, String name) {
+        return generator.getStats().getCounts().getOrDefault(name, 0L);
+    }
+
+    private File output(String path) {
+        return new File(this.settings.getOutput(), path);
+    }
+
+    @Test(groups = "slow")
+    void leaveIdenticalFilesUntouched() throws Exception {
+        Generator generator = Corpus.generate(this.settings);
+        Assert.assertEquals(count(generator, "writtenFiles"), 0);
+        Assert.assertEquals(count(generator, "unchangedFiles"), this.files);
+        for (File file : FileUtils.listFiles(this.settings.getOutput(), null, true)) {
+            Assert.assertEquals(file.lastModified(), MODIFIED, file.getPath());
+        }
+        Assert.assertEquals(Corpus.files(this.settings.getOutput()), this.expected);
+    }
+
+    @Test(groups = "slow")
+    void rewriteFilesThatDiffer() throws Exception {
+        // Same length, different content
+        String content = this.expected.get(INVOICE);
+        FileUtils.writeStringToFile(output(INVOICE), content.replace("class InvoiceImp", "class InvoiceXyz"), StandardCharsets.UTF_8);
+        // Same start, longer
+        String plan = "com/acme/catalog/boilerplate/PlanImp.java";
+        FileUtils.writeStringToFile(output(plan), this.expected.get(plan) + "\n", StandardCharsets.UTF_8);
+        Assert.assertTrue(output(INVOICE).setLastModified(MODIFIED));
+        Assert.assertTrue(output(plan).setLastModified(MODIFIED));
+
+        Generator generator = Corpus.generate(this.settings);
+        Assert.assertEquals(count(generator, "writtenFiles"), 2);
+        Assert.assertEquals(count(generator, "unchangedFiles"), this.files - 2);
+        Assert.assertNotEquals(output(INVOICE).lastModified(), MODIFIED);
+        Assert.assertNotEquals(output(plan).lastModified(), MODIFIED);
+        Assert.assertEquals(Corpus.files(this.settings.getOutput()), this.expected);
+    }
+
+    @Test(groups = "slow")
+    void writeMissingFilesWithoutLeavingTemporaryOnes() throws Exception {
+        Assert.assertTrue(output(INVOICE).delete());
+
+        Generator generator = Corpus.generate(this.settings);
+        Assert.assertEquals(count(generator, "writtenFiles"), 1);
+        // Temporary files are moved in place or deleted, so only the generated files are left
+        Assert.assertEquals(Corpus.files(this.settings.getOutput()), this.expected);
+        // And they are not left readable by their owner only
+        Assert.assertEquals(Files.getPosixFilePermissions(output(INVOICE).toPath()),
+                PosixFilePermissions.fromString("rw-r--r--"));
+    }
+
+    /**
+     * Mutable POJOs have no hash code test, and their test units only import what the other tests use.
+     */
+    @Test(groups = "slow")
+    void importOnlyWhatTheTestsOfMutablePojosUse() throws Exception {
+        this.settings.setTest(new File(this.work, "test"));
+        Corpus.generate(this.settings);
+        String test = FileUtils.readFileToString(new File(this.work, "test/com/acme/api/boilerplate/AccountImpTest.java"),
+                StandardCharsets.UTF_8);
+        Assert.assertEquals(imports(test), Arrays.asList(
+                "import com.acme.api.Account;",
+                "import com.fasterxml.jackson.core.JsonParseException;",
+                "import com.fasterxml.jackson.core.JsonProcessingException;",
+                "import com.fasterxml.jackson.databind.JsonMappingException;",
+                "import com.fasterxml.jackson.databind.ObjectMapper;",
+                "import com.fasterxml.jackson.databind.SerializationFeature;",
+                "import com.fasterxml.jackson.databind.util.StdDateFormat;",
+                "import com.fasterxml.jackson.datatype.joda.JodaModule;",
+                "import java.io.IOException;",
+                "import org.testng.Assert;",
+                "import org.testng.annotations.Test;"));
+        Assert.assertFalse(test.contains("sample()"), test);
+
+        this.settings.setImmutable(true);
+        Corpus.generate(this.settings);
+        test = FileUtils.readFileToString(new File(this.work, "test/com/acme/api/boilerplate/AccountImpTest.java"),
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(imports(test).contains("import java.math.BigDecimal;"), test);
+        Assert.assertTrue(test.contains("builder.withStatus(AccountStatus.ACTIVE);"), test);
+    }
+
+    private static List<String> imports(String unit) {
+        ArrayList<String> imports = new ArrayList<String>();
+        for (String line : unit.split("\n")) {
+            if (line.startsWith("import ")) {
+                imports.add(line);
+            }
+        }
+        return imports;
+    }
+}
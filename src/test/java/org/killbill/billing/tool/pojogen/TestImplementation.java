@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code equals()} and {@code hashCode()} of the generated implementations, on properties of every kind.
+ */
+public class TestImplementation {
+
+    private static final String MEASURE = "package com.acme.api;\n" +
+            "public interface Measure {\n" +
+            "    java.math.BigDecimal getAmount();\n" +
+            "    int getCount();\n" +
+            "    byte[] getData();\n" +
+            "    int[][] getGrid();\n" +
+            "    String getLabel();\n" +
+            "    double[] getRates();\n" +
+            "    AccountStatus getStatus();\n" +
+            "    long getTotal();\n" +
+            "}\n";
+
+    private File work;
+    private File output;
+
+    @BeforeMethod(groups = "slow")
+    void setup() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-implementation").toFile();
+    }
+
+    @AfterMethod(groups = "slow", alwaysRun = true)
+    void delete() throws Exception {
+        FileUtils.deleteDirectory(this.work);
+    }
+
+    /**
+     * Generate and compile the corpus with {@code Measure}, in a work directory of its own.
+     */
+    private Class<?> measure(boolean immutable) throws Exception {
+        Corpus corpus = new Corpus(new File(this.work, immutable ? "immutable" : "mutable"));
+        FileUtils.writeStringToFile(corpus.source("com.acme.api.Measure"), MEASURE, StandardCharsets.UTF_8);
+        Settings settings = corpus.settings("output");
+        settings.setImmutable(immutable);
+        Corpus.generate(settings);
+        this.output = settings.getOutput();
+        return corpus.compile(settings.getOutput()).loadClass("com.acme.api.boilerplate.MeasureImp");
+    }
+
+    /**
+     * The values of the properties of a sample, by id.
+     */
+    private static Map<String, Object> values(Class<?> pojo) throws Exception {
+        LinkedHashMap<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("Amount", new BigDecimal("12.50"));
+        values.put("Count", 7);
+        values.put("Data", new byte[] {1, 2, 3});
+        values.put("Grid", new int[][] {{1, 2}, {3}});
+        values.put("Label", "label");
+        values.put("Rates", new double[] {2.5, 0.5});
+        values.put("Status", pojo.getMethod("getStatus").getReturnType().getEnumConstants()[1]);
+        values.put("Total", 9L);
+        return values;
+    }
+
+    private static Object build(Class<?> pojo, Map<String, Object> values) throws Exception {
+        Object builder = pojo.getClassLoader().loadClass(pojo.getName() + "$Builder").getConstructor().newInstance();
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            Class<?> type = pojo.getMethod("get" + value.getKey()).getReturnType();
+            builder.getClass().getMethod("with" + value.getKey(), type).invoke(builder, value.getValue());
+        }
+        return builder.getClass().getMethod("build").invoke(builder);
+    }
+
+    /**
+     * The hash of the values like {@code java.util.Objects.hash()}, with the arrays hashed by their content.
+     */
+    private static int hash(Map<String, Object> values) {
+        int result = 1;
+        for (Object value : values.values()) {
+            int hash;
+            if (value instanceof byte[]) {
+                hash = Arrays.hashCode((byte[]) value);
+            } else if (value instanceof double[]) {
+                hash = Arrays.hashCode((double[]) value);
+            } else if (value instanceof Object[]) {
+                hash = Arrays.deepHashCode((Object[]) value);
+            } else {
+                hash = Objects.hashCode(value);
+            }
+            result = (31 * result) + hash;
+        }
+        return result;
+    }
+
+    @Test(groups = "slow")
+    void compareTheCheapestPropertiesFirst() throws Exception {
+        measure(false);
+        String source = FileUtils.readFileToString(new File(this.output, "com/acme/api/boilerplate/MeasureImp.java"),
+                StandardCharsets.UTF_8);
+        String equals = source.substring(source.indexOf("public boolean equals("), source.indexOf("public int hashCode()"));
+        ArrayList<String> fields = new ArrayList<String>();
+        Matcher matcher = Pattern.compile("if\\( (.*)\\) \\{").matcher(equals);
+        while (matcher.find()) {
+            fields.add(matcher.group(1).trim());
+        }
+        Assert.assertEquals(fields, List.of(
+                "this.count != that.count",
+                "!Objects.equals(this.status, that.status)",
+                "this.total != that.total",
+                "!Objects.equals(this.label, that.label)",
+                "( this.amount != null ) ? ( 0 != this.amount.compareTo(that.amount) ) : ( that.amount != null )",
+                "!Arrays.equals(this.data, that.data)",
+                "!Arrays.equals(this.rates, that.rates)",
+                "!Arrays.deepEquals(this.grid, that.grid)"), equals);
+        String hash = source.substring(source.indexOf("public int hashCode()"));
+        Assert.assertTrue(hash.contains("Integer.hashCode(this.count)"), hash);
+        Assert.assertTrue(hash.contains("Long.hashCode(this.total)"), hash);
+        Assert.assertTrue(hash.contains("Arrays.hashCode(this.data)"), hash);
+        Assert.assertTrue(hash.contains("Arrays.hashCode(this.rates)"), hash);
+        Assert.assertTrue(hash.contains("Arrays.deepHashCode(this.grid)"), hash);
+    }
+
+    @Test(groups = "slow")
+    void compareAndHashEveryKindOfProperty() throws Exception {
+        for (boolean immutable : new boolean[] {false, true}) {
+            Class<?> pojo = measure(immutable);
+            Object a = build(pojo, values(pojo));
+            Object b = build(pojo, values(pojo));
+            Assert.assertEquals(a, b);
+            Assert.assertEquals(a.hashCode(), hash(values(pojo)), pojo.getName());
+            Assert.assertEquals(b.hashCode(), a.hashCode(), pojo.getName());
+
+            Object empty = build(pojo, Map.of());
+            LinkedHashMap<String, Object> nulls = new LinkedHashMap<String, Object>();
+            for (String id : values(pojo).keySet()) {
+                nulls.put(id, (id.equals("Count") || id.equals("Total")) ? pojo.getMethod("get" + id).invoke(empty) : null);
+            }
+            Assert.assertEquals(empty.hashCode(), hash(nulls), pojo.getName());
+
+            Map<String, Object> others = Map.of("Amount", new BigDecimal("13"), "Count", 8, "Data", new byte[] {1, 2},
+                    "Grid", new int[][] {{1, 2}, {4}}, "Label", "other", "Rates", new double[] {2.5},
+                    "Status", pojo.getMethod("getStatus").getReturnType().getEnumConstants()[0], "Total", 10L);
+            for (Map.Entry<String, Object> other : others.entrySet()) {
+                Map<String, Object> values = values(pojo);
+                values.put(other.getKey(), other.getValue());
+                Object c = build(pojo, values);
+                Assert.assertNotEquals(c, a, other.getKey());
+                Assert.assertNotEquals(a, c, other.getKey());
+                Assert.assertEquals(c.hashCode(), hash(values), other.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class TestImporter {
+
+    @Test(groups = "fast")
+    void addingAnEntityResolvesTheImportsAgain() {
+        Importer importer = new Importer(new Entity("com.acme.api", "com.acme.api.Account"), Symbols.java());
+        importer.add("java.util.List");
+        Assert.assertEquals(importer.getImports(), List.of("java.util.List"));
+        Assert.assertEquals(importer.getMapping().resolve("java.util.List"), "List");
+        Assert.assertTrue(importer.getSymbols().contains("List"));
+
+        importer.add("java.util.UUID");
+        Assert.assertEquals(importer.getImports(), List.of("java.util.List", "java.util.UUID"));
+        Assert.assertEquals(importer.getMapping().resolve("java.util.UUID"), "UUID");
+
+        // Two entities with the same simple name are no longer imported
+        Mapping before = importer.getMapping();
+        importer.add("java.awt.List");
+        Assert.assertEquals(importer.getImports(), List.of("java.util.UUID"));
+        Assert.assertEquals(importer.getMapping().resolve("java.util.List"), "java.util.List");
+        Assert.assertEquals(importer.getMapping().resolve("java.awt.List"), "java.awt.List");
+        Assert.assertFalse(importer.getSymbols().contains("List"));
+        Assert.assertEquals(before.resolve("java.util.List"), "List");
+    }
+
+    @Test(groups = "fast")
+    void addingAKnownEntityKeepsTheImports() {
+        Importer importer = new Importer(new Entity("com.acme.api", "com.acme.api.Account"), Symbols.java());
+        importer.add("java.util.List");
+        Mapping before = importer.getMapping();
+        importer.add("java.util.List");
+        importer.add("java.util", "java.util.List");
+        Assert.assertEquals(importer.getImports(), List.of("java.util.List"));
+        Assert.assertEquals(importer.getMapping(), before);
+    }
+
+    @Test(groups = "fast")
+    void resolutionsAreHandedOutAsScopes() {
+        Importer importer = new Importer(new Entity("com.acme.api", "com.acme.api.Account"), Symbols.java());
+        importer.add("java.util.List");
+        Mapping mapping = importer.getMapping();
+        mapping.put("T", "T");
+        Symbols symbols = importer.getSymbols();
+        symbols.add("value");
+        importer.getImports().add("java.util.Map");
+
+        Assert.assertFalse(importer.getMapping().containsKey("T"));
+        Assert.assertFalse(importer.getSymbols().contains("value"));
+        Assert.assertEquals(importer.getImports(), List.of("java.util.List"));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Incremental runs over the corpus: what they take from the manifest of the previous run, and what they parse and
+ * generate again.
+ */
+public class TestManifest {
+
+    private static final int FILES = 9;
+    private static final int INTERFACES = 6;
+
+    private File work;
+    private Corpus corpus;
+
+    @BeforeMethod(groups = "slow")
+    void setup() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-manifest").toFile();
+        this.corpus = new Corpus(this.work);
+    }
+
+    @AfterMethod(groups = "slow", alwaysRun = true)
+    void delete() throws Exception {
+        FileUtils.deleteDirectory(this.work);
+    }
+
+    private Settings settings() {
+        Settings settings = this.corpus.settings("output");
+        settings.setIncremental(true);
+        return settings;
+    }
+
+    private static long count(Generator generator, String name) {
+        return generator.getStats().getCounts().getOrDefault(name, 0L);
+    }
+
+    private void append(String name) throws Exception {
+        FileUtils.writeStringToFile(this.corpus.source(name), "\n// Changed\n", StandardCharsets.UTF_8, true);
+    }
+
+    /**
+     * The output of a run that does not use the manifest.
+     */
+    private Map<String, String> expected(Settings settings) throws Exception {
+        settings.setIncremental(false);
+        settings.setOutput(new File(this.work, "expected"));
+        Corpus.generate(settings);
+        return Corpus.files(settings.getOutput());
+    }
+
+    private Map<String, String> actual(Settings settings) throws Exception {
+        Map<String, String> files = Corpus.files(settings.getOutput());
+        files.remove(Manifest.FILE);
+        return files;
+    }
+
+    @Test(groups = "slow")
+    void reuseUnchangedFiles() throws Exception {
+        Generator first = Corpus.generate(settings());
+        Assert.assertEquals(count(first, "parsedFiles"), FILES);
+        Assert.assertEquals(count(first, "implemented"), INTERFACES);
+        Assert.assertEquals(count(first, "resolvedTypes"), INTERFACES);
+        Assert.assertTrue(new File(settings().getOutput(), Manifest.FILE).isFile());
+
+        Generator second = Corpus.generate(settings());
+        Assert.assertEquals(count(second, "cachedFiles"), FILES);
+        Assert.assertEquals(count(second, "parsedFiles"), 0);
+        Assert.assertEquals(count(second, "implemented"), 0);
+        Assert.assertEquals(count(second, "resolvedTypes"), 0);
+        Assert.assertEquals(count(second, "unchanged"), INTERFACES);
+        Assert.assertEquals(actual(settings()), expected(settings()));
+    }
+
+    @Test(groups = "slow")
+    void generateChangedFilesAgain() throws Exception {
+        Corpus.generate(settings());
+        append("com.acme.catalog.Product");
+
+        Generator generator = Corpus.generate(settings());
+        Assert.assertEquals(count(generator, "cachedFiles"), FILES - 1);
+        Assert.assertEquals(count(generator, "parsedFiles"), 1);
+        Assert.assertEquals(count(generator, "implemented"), 1);
+        Assert.assertEquals(count(generator, "unchanged"), INTERFACES - 1);
+        Assert.assertEquals(count(generator, "resolvedTypes"), 1);
+    }
+
+    @Test(groups = "slow")
+    void generateTheDescendantsOfChangedAncestorsAgain() throws Exception {
+        Corpus.generate(settings());
+        FileUtils.writeStringToFile(this.corpus.source("com.acme.api.Entity"), "package com.acme.api;\n" +
+                "public interface Entity {\n    java.util.UUID getId();\n    String getReference();\n}\n", StandardCharsets.UTF_8);
+
+        // Entity, and Account, Plan, Invoice and InvoiceItem that extend it
+        Generator generator = Corpus.generate(settings());
+        Assert.assertEquals(count(generator, "parsedFiles"), 5);
+        Assert.assertEquals(count(generator, "cachedFiles"), FILES - 5);
+        Assert.assertEquals(count(generator, "implemented"), 5);
+        Assert.assertEquals(count(generator, "unchanged"), INTERFACES - 5);
+        Map<String, String> files = actual(settings());
+        Assert.assertTrue(files.get("com/acme/invoice/boilerplate/InvoiceItemImp.java").contains("getReference()"));
+        Assert.assertEquals(files, expected(settings()));
+    }
+
+    @Test(groups = "slow")
+    void generateTheUsersOfChangedTypesAgain() throws Exception {
+        Corpus.generate(settings());
+        FileUtils.writeStringToFile(this.corpus.source("com.acme.api.AccountStatus"), "package com.acme.api;\n" +
+                "public enum AccountStatus { PENDING, ACTIVE, CLOSED }\n", StandardCharsets.UTF_8);
+
+        // AccountStatus, and Account whose status it is
+        Generator generator = Corpus.generate(settings());
+        Assert.assertEquals(count(generator, "parsedFiles"), 2);
+        Assert.assertEquals(count(generator, "cachedFiles"), FILES - 2);
+        Assert.assertEquals(count(generator, "implemented"), 1);
+        Assert.assertEquals(count(generator, "unchanged"), INTERFACES - 1);
+        Assert.assertEquals(actual(settings()), expected(settings()));
+    }
+
+    /**
+     * A targeted run only visits the files of its packages, so the files they depend on in other packages are known
+     * from the hashes recorded by the entries.
+     */
+    @Test(groups = "slow")
+    void reuseTargetedFilesWhoseAncestorsAreNotVisited() throws Exception {
+        Settings settings = settings();
+        settings.setPackages(Collections.singletonList("com.acme.invoice"));
+        Corpus.generate(settings);
+
+        Generator second = Corpus.generate(settings);
+        Assert.assertEquals(count(second, "parsedFiles"), 0);
+        Assert.assertEquals(count(second, "cachedFiles"), 3);
+        Assert.assertEquals(count(second, "implemented"), 0);
+
+        // Invoice and InvoiceItem extend Entity, which is outside of the targeted package
+        FileUtils.writeStringToFile(this.corpus.source("com.acme.api.Entity"), "package com.acme.api;\n" +
+                "public interface Entity {\n    java.util.UUID getId();\n    String getReference();\n}\n", StandardCharsets.UTF_8);
+        Generator third = Corpus.generate(settings);
+        Assert.assertEquals(count(third, "parsedFiles"), 2);
+        Assert.assertEquals(count(third, "cachedFiles"), 1);
+        Assert.assertEquals(count(third, "implemented"), 2);
+        Assert.assertTrue(actual(settings).get("com/acme/invoice/boilerplate/InvoiceImp.java").contains("getReference()"));
+    }
+
+    @Test(groups = "slow")
+    void generateEverythingAgainWhenTheSettingsChange() throws Exception {
+        Corpus.generate(settings());
+        Settings settings = settings();
+        settings.setImmutable(true);
+
+        Generator generator = Corpus.generate(settings);
+        Assert.assertEquals(count(generator, "cachedFiles"), 0);
+        Assert.assertEquals(count(generator, "parsedFiles"), FILES);
+        Assert.assertEquals(count(generator, "implemented"), INTERFACES);
+        Assert.assertEquals(actual(settings), expected(settings));
+    }
+
+    @Test(groups = "slow")
+    void generateDeletedFilesAgain() throws Exception {
+        Corpus.generate(settings());
+        File deleted = new File(settings().getOutput(), "com/acme/catalog/boilerplate/PlanImp.java");
+        Assert.assertTrue(deleted.delete());
+
+        Generator generator = Corpus.generate(settings());
+        Assert.assertEquals(count(generator, "implemented"), 1);
+        Assert.assertTrue(deleted.isFile());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class TestMapping {
+
+    @Test(groups = "fast")
+    void scopesHideTheNamesOfTheirParents() {
+        Mapping base = new Mapping();
+        base.put("java.util.List", "List");
+        base.put("T", "T");
+        Mapping scope = base.scope();
+        scope.put("T", "T1");
+
+        Assert.assertEquals(scope.get("T"), "T1");
+        Assert.assertEquals(scope.resolve("java.util.List"), "List");
+        Assert.assertEquals(scope.resolve("java.util.Map"), "java.util.Map");
+        Assert.assertNull(scope.get("java.util.Map"));
+        Assert.assertEquals(scope, Map.of("java.util.List", "List", "T", "T1"));
+        Assert.assertEquals(base, Map.of("java.util.List", "List", "T", "T"));
+        Assert.assertEquals(base.get("T"), "T");
+    }
+
+    @Test(groups = "fast")
+    void scopesOfEmptyScopesShareTheSameParent() {
+        Mapping base = new Mapping(Map.of("java.util.List", "List"));
+        Mapping first = base.scope();
+        Mapping second = first.scope();
+        second.put("T", "T");
+
+        Assert.assertEquals(second, Map.of("java.util.List", "List", "T", "T"));
+        Assert.assertEquals(first, Map.of("java.util.List", "List"));
+    }
+
+    @Test(groups = "fast")
+    void frozenMappingsCannotChange() {
+        Mapping base = new Mapping();
+        base.put("java.util.List", "List");
+        Mapping scope = base.scope();
+        Assert.assertThrows(UnsupportedOperationException.class, () -> base.put("T", "T"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> scope.freeze().put("T", "T"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> scope.entrySet().clear());
+
+        Mapping copy = scope.clone();
+        copy.put("T", "T");
+        Assert.assertEquals(copy, Map.of("java.util.List", "List", "T", "T"));
+        Assert.assertFalse(scope.containsKey("T"));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Runs over the corpus on several threads, against the serial run.
+ */
+public class TestParallel {
+
+    private File work;
+    private Corpus corpus;
+    private Map<String, String> serial;
+
+    @BeforeClass(groups = "slow")
+    void generate() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-parallel").toFile();
+        this.corpus = new Corpus(this.work);
+        this.serial = generate("serial", 1, 1);
+    }
+
+    @AfterClass(groups = "slow", alwaysRun = true)
+    void delete() throws Exception {
+        FileUtils.deleteDirectory(this.work);
+    }
+
+    /**
+     * Every file written by a run with serializers, tests, benchmarks and a service file, by path relative to the
+     * directory of the run.
+     */
+    private Map<String, String> generate(String run, int threads, int parseThreads) throws Exception {
+        File root = new File(this.work, run);
+        Settings settings = this.corpus.settings(run + "/main");
+        settings.setTest(new File(root, "test"));
+        settings.setBenchmark(new File(root, "benchmark"));
+        settings.setResource(new File(root, "resources"));
+        settings.setSerializers(true);
+        settings.setThreads(threads);
+        settings.setParseThreads(parseThreads);
+        Corpus.generate(settings);
+        return Corpus.files(root);
+    }
+
+    @Test(groups = "slow")
+    void generateTheSameFilesOnSeveralThreads() throws Exception {
+        Assert.assertTrue(this.serial.containsKey("test/com/acme/invoice/boilerplate/InvoiceImpTest.java"));
+        Assert.assertTrue(this.serial.containsKey("benchmark/com/acme/invoice/boilerplate/InvoiceImpBenchmark.java"));
+        Assert.assertTrue(this.serial.containsKey("resources/META-INF/services/com.fasterxml.jackson.databind.Module"));
+        Assert.assertEquals(generate("threads", 4, 1), this.serial);
+    }
+
+    @Test(groups = "slow")
+    void generateTheSameFilesWhenParsingAhead() throws Exception {
+        Assert.assertEquals(generate("parseThreads", 1, 3), this.serial);
+    }
+
+    @Test(groups = "slow")
+    void generateTheSameFilesWhenParsingAheadOnSeveralThreads() throws Exception {
+        // Workers parse their own files, so parseThreads is ignored then
+        Assert.assertEquals(generate("both", 3, 3), this.serial);
+    }
+
+    /**
+     * Only summaries of the interfaces are kept while files are streamed, and the resolvers, modules and service file
+     * are written from them at the end.
+     */
+    @Test(groups = "slow")
+    void writeThePackageFilesFromTheSummaries() throws Exception {
+        String resolver = this.serial.get("main/com/acme/invoice/boilerplate/Resolver.java");
+        Assert.assertTrue(resolver.contains("this.addMapping(Invoice.class, InvoiceImp.class);\n" +
+                "        this.addMapping(InvoiceItem.class, InvoiceItemImp.class);"), resolver);
+        String service = this.serial.get("resources/META-INF/services/com.fasterxml.jackson.databind.Module");
+        for (String namespace : Corpus.PACKAGES) {
+            Assert.assertTrue(service.contains("\n" + namespace + ".boilerplate.Module\n"), service);
+        }
+    }
+}
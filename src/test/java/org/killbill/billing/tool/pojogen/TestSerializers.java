@@ -0,0 +1,408 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The generated serializers and deserializers of the corpus, against the reflective bean serializer and builder based
+ * deserializer of Jackson.
+ */
+public class TestSerializers {
+
+    private static final List<String> POJOS = List.of(
+            "com.acme.api.boilerplate.AccountImp", "com.acme.api.boilerplate.EntityImp",
+            "com.acme.catalog.boilerplate.PlanImp", "com.acme.catalog.boilerplate.ProductImp",
+            "com.acme.invoice.boilerplate.InvoiceImp", "com.acme.invoice.boilerplate.InvoiceItemImp");
+
+    private File work;
+    private ClassLoader loader;
+
+    @BeforeClass(groups = "slow")
+    void generate() throws Exception {
+        this.work = Files.createTempDirectory("pojogen-serializers").toFile();
+        Corpus corpus = new Corpus(this.work);
+        Settings settings = corpus.settings("output");
+        settings.setSerializers(true);
+        settings.setWarmUp(true);
+        Corpus.generate(settings);
+        this.loader = corpus.compile(settings.getOutput());
+    }
+
+    @AfterClass(groups = "slow", alwaysRun = true)
+    void delete() throws Exception {
+        FileUtils.deleteDirectory(this.work);
+    }
+
+    /**
+     * A mapper with the resolvers of the generated packages only, that maps the interfaces to the POJOs.
+     */
+    private ObjectMapper reflective() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        for (String namespace : Corpus.PACKAGES) {
+            Class<?> resolver = this.loader.loadClass(namespace + ".boilerplate.Resolver");
+            SimpleModule module = new SimpleModule(namespace);
+            module.setAbstractTypes((SimpleAbstractTypeResolver) resolver.getConstructor().newInstance());
+            mapper.registerModule(module);
+        }
+        return mapper;
+    }
+
+    private ObjectMapper generated() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        for (String namespace : Corpus.PACKAGES) {
+            Class<?> module = this.loader.loadClass(namespace + ".boilerplate.Module");
+            mapper.registerModule((com.fasterxml.jackson.databind.Module) module.getConstructor().newInstance());
+        }
+        return mapper;
+    }
+
+    @Test(groups = "slow")
+    void useTheGeneratedSerializersAndDeserializers() throws Exception {
+        ObjectMapper mapper = generated();
+        DeserializationContext context = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createDummyInstance(mapper.getDeserializationConfig());
+        for (String name : POJOS) {
+            Class<?> pojo = this.loader.loadClass(name);
+            Class<?> base = this.loader.loadClass(name.replace(".boilerplate.", ".").replaceAll("Imp$", ""));
+            Assert.assertEquals(mapper.getSerializerProviderInstance().findValueSerializer(pojo).getClass().getName(), name + "Serializer");
+            Assert.assertEquals(context.findRootValueDeserializer(mapper.constructType(pojo)).getClass().getName(), name + "Deserializer");
+            Assert.assertEquals(context.findRootValueDeserializer(mapper.constructType(base)).getClass().getName(), name + "Deserializer");
+        }
+    }
+
+    @Test(groups = "slow")
+    void serializeLikeTheBeanSerializer() throws Exception {
+        ObjectMapper reflective = reflective();
+        ObjectMapper generated = generated();
+        for (String name : POJOS) {
+            Class<?> pojo = this.loader.loadClass(name);
+            for (Object value : List.of(sample(pojo, 0), empty(pojo))) {
+                String expected = reflective.writeValueAsString(value);
+                String actual = generated.writeValueAsString(value);
+                assertSameTree(generated.readTree(actual), reflective.readTree(expected), name);
+                Assert.assertEquals(order(pojo, generated.readTree(actual)), order(pojo, reflective.readTree(expected)), name);
+            }
+        }
+    }
+
+    @Test(groups = "slow")
+    void leaveNullsOutWhenTheMapperDoes() throws Exception {
+        ObjectMapper reflective = reflective().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        ObjectMapper generated = generated().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        for (String name : POJOS) {
+            Class<?> pojo = this.loader.loadClass(name);
+            Object value = empty(pojo);
+            assertSameTree(generated.readTree(generated.writeValueAsString(value)),
+                    reflective.readTree(reflective.writeValueAsString(value)), name);
+        }
+    }
+
+    @Test(groups = "slow")
+    void deserializeLikeTheBuilderBasedDeserializer() throws Exception {
+        ObjectMapper reflective = reflective();
+        ObjectMapper generated = generated();
+        for (String name : POJOS) {
+            Class<?> pojo = this.loader.loadClass(name);
+            String json = reflective.writeValueAsString(sample(pojo, 0));
+            Object expected = reflective.readValue(json, pojo);
+            Object actual = generated.readValue(json, pojo);
+            Assert.assertEquals(actual, expected, name);
+            assertSameTree(generated.readTree(generated.writeValueAsString(actual)), reflective.readTree(json), name);
+        }
+    }
+
+    @Test(groups = "slow")
+    void numberTheConstantsOfFieldsWithTheSameName() throws Exception {
+        File work = Files.createTempDirectory("pojogen-constants").toFile();
+        try {
+            Corpus corpus = new Corpus(work);
+            FileUtils.writeStringToFile(corpus.source("com.acme.api.Identified"), "package com.acme.api;\n" +
+                    "public interface Identified {\n    String getSomeId();\n    String getSomeID();\n}\n", StandardCharsets.UTF_8);
+            Settings settings = corpus.settings("output");
+            settings.setSerializers(true);
+            Corpus.generate(settings);
+            String serializer = Corpus.files(settings.getOutput()).get("com/acme/api/boilerplate/IdentifiedImpSerializer.java");
+            Assert.assertTrue(serializer.contains(" SOME_ID = new SerializedString(\"someID\");"), serializer);
+            Assert.assertTrue(serializer.contains(" SOME_ID_1 = new SerializedString(\"someId\");"), serializer);
+
+            ClassLoader loader = corpus.compile(settings.getOutput());
+            Class<?> pojo = loader.loadClass("com.acme.api.boilerplate.IdentifiedImp");
+            Object builder = builder(pojo);
+            builder.getClass().getMethod("withSomeId", String.class).invoke(builder, "a");
+            builder.getClass().getMethod("withSomeID", String.class).invoke(builder, "b");
+            Object value = builder.getClass().getMethod("build").invoke(builder);
+            ObjectMapper mapper = new ObjectMapper().registerModule((com.fasterxml.jackson.databind.Module)
+                    loader.loadClass("com.acme.api.boilerplate.Module").getConstructor().newInstance());
+            Assert.assertEquals(mapper.writeValueAsString(value), "{\"someID\":\"b\",\"someId\":\"a\"}");
+            Assert.assertEquals(mapper.readValue(mapper.writeValueAsString(value), pojo), value);
+        } finally {
+            FileUtils.deleteDirectory(work);
+        }
+    }
+
+    @Test(groups = "slow")
+    void leaveOutTheGettersOfDefaultMethods() throws Exception {
+        File work = Files.createTempDirectory("pojogen-defaults").toFile();
+        try {
+            Corpus corpus = new Corpus(work);
+            FileUtils.writeStringToFile(corpus.source("com.acme.api.Labelled"), "package com.acme.api;\n" +
+                    "public interface Labelled {\n    String getName();\n" +
+                    "    default String getLabel() {\n        return \"label\";\n    }\n}\n", StandardCharsets.UTF_8);
+            Settings settings = corpus.settings("output");
+            settings.setSerializers(true);
+            Corpus.generate(settings);
+
+            ClassLoader loader = corpus.compile(settings.getOutput());
+            Class<?> pojo = loader.loadClass("com.acme.api.boilerplate.LabelledImp");
+            Object builder = builder(pojo);
+            builder.getClass().getMethod("withName", String.class).invoke(builder, "a");
+            Object value = builder.getClass().getMethod("build").invoke(builder);
+            ObjectMapper mapper = new ObjectMapper().registerModule((com.fasterxml.jackson.databind.Module)
+                    loader.loadClass("com.acme.api.boilerplate.Module").getConstructor().newInstance());
+            Assert.assertEquals(new ObjectMapper().writeValueAsString(value), "{\"name\":\"a\",\"label\":\"label\"}");
+            Assert.assertEquals(mapper.writeValueAsString(value), "{\"name\":\"a\"}");
+        } finally {
+            FileUtils.deleteDirectory(work);
+        }
+    }
+
+    @Test(groups = "slow")
+    void failOnPropertiesWithTheSameJsonName() throws Exception {
+        File work = Files.createTempDirectory("pojogen-names").toFile();
+        try {
+            Corpus corpus = new Corpus(work);
+            FileUtils.writeStringToFile(corpus.source("com.acme.api.Located"), "package com.acme.api;\n" +
+                    "public interface Located {\n    String getUrl();\n    String getURL();\n}\n", StandardCharsets.UTF_8);
+            Settings settings = corpus.settings("output");
+            settings.setSerializers(true);
+            IllegalStateException e = Assert.expectThrows(IllegalStateException.class, () -> Corpus.generate(settings));
+            Assert.assertEquals(e.getMessage(), "Properties 'URL' and 'Url' of com.acme.api.boilerplate.LocatedImp have the same JSON name 'url'.");
+        } finally {
+            FileUtils.deleteDirectory(work);
+        }
+    }
+
+    /**
+     * A module that records the bean and collection types the mapper asks modules a deserializer for. Register it
+     * last, so that it is asked first.
+     */
+    private static class Recorder extends SimpleModule {
+        private final Set<String> types = new HashSet<String>();
+
+        private Recorder() {
+            this.setDeserializers(new SimpleDeserializers() {
+                @Override
+                public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription description) {
+                    Recorder.this.types.add(type.toCanonical());
+                    return null;
+                }
+
+                @Override
+                public JsonDeserializer<?> findCollectionDeserializer(CollectionType type, DeserializationConfig config, BeanDescription description,
+                                                                      TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+                    Recorder.this.types.add(type.toCanonical());
+                    return null;
+                }
+            });
+        }
+    }
+
+    @Test(groups = "slow")
+    void warmUpTheDeserializersOfNestedValues() throws Exception {
+        ObjectMapper mapper = generated();
+        Recorder recorder = new Recorder();
+        mapper.registerModule(recorder);
+        Object module = this.loader.loadClass("com.acme.invoice.boilerplate.Module").getConstructor().newInstance();
+        long nanos = (Long) module.getClass().getMethod("warmUp", ObjectMapper.class).invoke(module, mapper);
+        Assert.assertTrue(nanos > 0);
+        Assert.assertTrue(recorder.types.contains("java.util.List<com.acme.invoice.InvoiceItem>"), recorder.types.toString());
+        Assert.assertTrue(recorder.types.contains("java.util.UUID"), recorder.types.toString());
+
+        Class<?> pojo = this.loader.loadClass("com.acme.invoice.boilerplate.InvoiceImp");
+        HashSet<String> built = new HashSet<String>(recorder.types);
+        Object value = sample(pojo, 0);
+        Assert.assertEquals(mapper.readValue(mapper.writeValueAsString(value), pojo), value);
+        Assert.assertEquals(recorder.types, built);
+    }
+
+    @Test(groups = "slow")
+    void resolveTheDeserializersOfEachMapper() throws Exception {
+        com.fasterxml.jackson.databind.Module module = (com.fasterxml.jackson.databind.Module)
+                this.loader.loadClass("com.acme.api.boilerplate.Module").getConstructor().newInstance();
+        SimpleModule amounts = new SimpleModule("amounts").addDeserializer(BigDecimal.class, new StdDeserializer<BigDecimal>(BigDecimal.class) {
+            @Override
+            public BigDecimal deserialize(JsonParser parser, DeserializationContext context) {
+                return BigDecimal.TEN;
+            }
+        });
+        ObjectMapper custom = new ObjectMapper().registerModule(module).registerModule(amounts);
+        ObjectMapper standard = new ObjectMapper().registerModule(module);
+        Class<?> pojo = this.loader.loadClass("com.acme.api.boilerplate.EntityImp");
+        String json = standard.writeValueAsString(sample(pojo, 0));
+
+        Assert.assertEquals(pojo.getMethod("getAmount").invoke(custom.readValue(json, pojo)), BigDecimal.TEN);
+        Assert.assertEquals(pojo.getMethod("getAmount").invoke(standard.readValue(json, pojo)), new BigDecimal("12.50"));
+    }
+
+    /**
+     * Compare JSON trees regardless of the order of their fields: TestNG iterates over the values of the nodes, which
+     * follow the order of the properties renamed by {@code @JsonGetter}. {@link #order(Class, JsonNode)} checks the
+     * order.
+     */
+    private static void assertSameTree(JsonNode actual, JsonNode expected, String message) {
+        Assert.assertTrue(actual.equals(expected), message + " expected [" + expected + "] but found [" + actual + "]");
+    }
+
+    /**
+     * The names of the properties written, with the ones renamed by {@code @JsonGetter} sorted at the end: Jackson
+     * orders them by the methods of the class, in an order that the JVM does not specify.
+     */
+    private static List<String> order(Class<?> pojo, JsonNode node) {
+        ArrayList<String> names = new ArrayList<String>();
+        for (Iterator<String> i = node.fieldNames(); i.hasNext(); ) {
+            names.add(i.next());
+        }
+        ArrayList<String> renamed = new ArrayList<String>();
+        for (Method method : pojo.getMethods()) {
+            if (method.isAnnotationPresent(JsonGetter.class)) {
+                renamed.add(method.getAnnotation(JsonGetter.class).value());
+            }
+        }
+        ArrayList<String> sorted = new ArrayList<String>(names);
+        sorted.sort(Comparator.comparing((String n) -> renamed.contains(n)).thenComparing((n) -> renamed.contains(n) ? n : ""));
+        Assert.assertEquals(names.subList(0, names.size() - renamed.size()), sorted.subList(0, names.size() - renamed.size()));
+        return sorted;
+    }
+
+    private static Object builder(Class<?> pojo) throws Exception {
+        return pojo.getClassLoader().loadClass(pojo.getName() + "$Builder").getConstructor().newInstance();
+    }
+
+    private static Object empty(Class<?> pojo) throws Exception {
+        Object builder = builder(pojo);
+        return builder.getClass().getMethod("build").invoke(builder);
+    }
+
+    /**
+     * An instance where every property has a value other than its default one.
+     */
+    private Object sample(Class<?> pojo, int depth) throws Exception {
+        Object builder = builder(pojo);
+        for (Method method : builder.getClass().getMethods()) {
+            if (method.getName().startsWith("with") && method.getParameterCount() == 1) {
+                method.invoke(builder, value(method.getGenericParameterTypes()[0], depth));
+            }
+        }
+        return builder.getClass().getMethod("build").invoke(builder);
+    }
+
+    private Object value(Type type, int depth) throws Exception {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+            if (raw == List.class) {
+                return List.of(value(arguments[0], depth));
+            } else if (raw == Set.class) {
+                return Set.of(value(arguments[0], depth));
+            } else if (raw == Map.class) {
+                return Map.of(value(arguments[0], depth), value(arguments[1], depth));
+            }
+            throw new IllegalArgumentException(type.toString());
+        }
+        if (type instanceof GenericArrayType) {
+            throw new IllegalArgumentException(type.toString());
+        }
+        Class<?> c = (Class<?>) type;
+        if (c.isArray()) {
+            Object array = Array.newInstance(c.getComponentType(), 1);
+            Array.set(array, 0, value(c.getComponentType(), depth));
+            return array;
+        } else if (c == boolean.class || c == Boolean.class) {
+            return true;
+        } else if (c == byte.class) {
+            return (byte) 7;
+        } else if (c == short.class) {
+            return (short) 7;
+        } else if (c == int.class || c == Integer.class) {
+            return 7;
+        } else if (c == long.class) {
+            return 7L;
+        } else if (c == float.class) {
+            return 1.5f;
+        } else if (c == double.class) {
+            return 2.5;
+        } else if (c == char.class) {
+            return 'x';
+        } else if (c == String.class) {
+            return "value";
+        } else if (c == UUID.class) {
+            return UUID.nameUUIDFromBytes(new byte[] {7});
+        } else if (c == BigDecimal.class) {
+            return new BigDecimal("12.50");
+        } else if (c == Date.class) {
+            return new Date(1000000L);
+        } else if (c.isEnum()) {
+            Object[] constants = c.getEnumConstants();
+            return constants[constants.length - 1];
+        } else if (c.isInterface() && depth < 2) {
+            String name = c.getPackageName() + ".boilerplate." + c.getSimpleName() + "Imp";
+            return sample(this.loader.loadClass(name), depth + 1);
+        }
+        return null;
+    }
+}
@@ -170,4 +170,106 @@ public class TestSettingsLoader {
             Assert.fail("This should never happened because exceptionIfNotExist = false");
         }
     }
+
+    @Test(groups = "fast")
+    void overrideOutputBenchmarkDirectory() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertNull(settingsLoader.getSettings().getBenchmark());
+
+        settingsLoader.overrideOutputBenchmarkDirectory(null);
+        Assert.assertNull(settingsLoader.getSettings().getBenchmark());
+
+        settingsLoader.overrideOutputBenchmarkDirectory("src"); // This project "src" directory
+        Assert.assertTrue(settingsLoader.getSettings().getBenchmark().getPath().contains("src"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> settingsLoader.overrideOutputBenchmarkDirectory("non-existent"));
+    }
+
+    @Test(groups = "fast")
+    void overrideThreads() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertEquals(settingsLoader.getSettings().getThreads(), 1);
+
+        settingsLoader.overrideThreads(null);
+        Assert.assertEquals(settingsLoader.getSettings().getThreads(), 1);
+
+        settingsLoader.overrideThreads(4);
+        Assert.assertEquals(settingsLoader.getSettings().getThreads(), 4);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> settingsLoader.overrideThreads(0));
+    }
+
+    @Test(groups = "fast")
+    void overrideParseThreads() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertEquals(settingsLoader.getSettings().getParseThreads(), 1);
+
+        settingsLoader.overrideParseThreads(null);
+        Assert.assertEquals(settingsLoader.getSettings().getParseThreads(), 1);
+
+        settingsLoader.overrideParseThreads(4);
+        Assert.assertEquals(settingsLoader.getSettings().getParseThreads(), 4);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> settingsLoader.overrideParseThreads(0));
+    }
+
+    @Test(groups = "fast")
+    void overrideImmutable() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertFalse(settingsLoader.getSettings().isImmutable());
+
+        settingsLoader.overrideImmutable(false);
+        Assert.assertFalse(settingsLoader.getSettings().isImmutable());
+
+        settingsLoader.overrideImmutable(true);
+        Assert.assertTrue(settingsLoader.getSettings().isImmutable());
+    }
+
+    @Test(groups = "fast")
+    void overrideSerializers() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertFalse(settingsLoader.getSettings().isSerializers());
+
+        settingsLoader.overrideSerializers(false);
+        Assert.assertFalse(settingsLoader.getSettings().isSerializers());
+
+        settingsLoader.overrideSerializers(true);
+        Assert.assertTrue(settingsLoader.getSettings().isSerializers());
+    }
+
+    @Test(groups = "fast")
+    void overrideWarmUp() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertFalse(settingsLoader.getSettings().isWarmUp());
+
+        settingsLoader.overrideWarmUp(false);
+        Assert.assertFalse(settingsLoader.getSettings().isWarmUp());
+
+        settingsLoader.overrideWarmUp(true);
+        Assert.assertTrue(settingsLoader.getSettings().isWarmUp());
+    }
+
+    @Test(groups = "fast")
+    void overrideIncremental() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertFalse(settingsLoader.getSettings().isIncremental());
+
+        settingsLoader.overrideIncremental(false);
+        Assert.assertFalse(settingsLoader.getSettings().isIncremental());
+
+        settingsLoader.overrideIncremental(true);
+        Assert.assertTrue(settingsLoader.getSettings().isIncremental());
+    }
+
+    @Test(groups = "fast")
+    void overrideStats() {
+        final SettingsLoader settingsLoader = getSettingsLoader(null);
+        Assert.assertFalse(settingsLoader.getSettings().isStats());
+        Assert.assertNull(settingsLoader.getSettings().getStatsFile());
+
+        settingsLoader.overrideStats(true);
+        settingsLoader.overrideStatsFile("target/stats.json");
+        Assert.assertTrue(settingsLoader.getSettings().isStats());
+        Assert.assertEquals(settingsLoader.getSettings().getStatsFile(), new File("target/stats.json"));
+    }
 }
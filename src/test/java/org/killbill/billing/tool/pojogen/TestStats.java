@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The stats of a run, as written to the file of {@code --stats-file}.
+ */
+public class TestStats {
+
+    /**
+     * The names of the fields of an object, in the order of the file.
+     */
+    private static List<String> names(JsonNode node) {
+        ArrayList<String> names = new ArrayList<String>();
+        for (Iterator<String> i = node.fieldNames(); i.hasNext(); ) {
+            names.add(i.next());
+        }
+        return names;
+    }
+
+    @Test(groups = "slow")
+    void writePhasesCountsAndInterfaces() throws Exception {
+        File work = Files.createTempDirectory("pojogen-stats").toFile();
+        try {
+            Settings settings = new Corpus(work).settings("output");
+            File file = new File(work, "stats/stats.json");
+            settings.setStats(true);
+            settings.setStatsFile(file);
+            Generator generator = Corpus.generate(settings);
+            JsonNode stats = new ObjectMapper().readTree(file);
+            Assert.assertEquals(names(stats), List.of("phases", "counts", "interfaces"));
+
+            JsonNode phases = stats.get("phases");
+            Assert.assertEquals(names(phases), new ArrayList<String>(generator.getStats().getPhases().keySet()));
+            for (String phase : List.of("dependencies", "parse", "implement", "units", "render")) {
+                Assert.assertTrue(phases.has(phase), phase);
+            }
+            for (JsonNode phase : phases) {
+                Assert.assertEquals(new HashSet<String>(names(phase)), Set.of("nanos", "bytes"));
+                Assert.assertTrue(phase.get("nanos").asLong() > 0, phase.toString());
+            }
+
+            JsonNode counts = stats.get("counts");
+            for (Map.Entry<String, Long> count : generator.getStats().getCounts().entrySet()) {
+                Assert.assertEquals(counts.get(count.getKey()).asLong(), (long) count.getValue(), count.getKey());
+            }
+            Assert.assertEquals(counts.size(), generator.getStats().getCounts().size());
+            Assert.assertEquals(counts.get("parsedFiles").asLong(), 9);
+            Assert.assertEquals(counts.get("implemented").asLong(), 6);
+
+            JsonNode interfaces = stats.get("interfaces");
+            Assert.assertEquals(names(interfaces), List.of("com.acme.api.Account", "com.acme.api.Entity",
+                    "com.acme.catalog.Plan", "com.acme.catalog.Product", "com.acme.invoice.Invoice", "com.acme.invoice.InvoiceItem"));
+            for (JsonNode unit : interfaces) {
+                Assert.assertEquals(new HashSet<String>(names(unit)), Set.of("resolveNanos", "modelNanos", "bytes"));
+            }
+        } finally {
+            FileUtils.deleteDirectory(work);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class TestSymbols {
+
+    @Test(groups = "fast")
+    void scopesOnlyHoldTheirOwnSymbols() {
+        Symbols base = new Symbols(List.of("List", "value"));
+        Symbols scope = base.scope();
+
+        Assert.assertFalse(scope.add("value"));
+        Assert.assertTrue(scope.add("T"));
+        Assert.assertTrue(scope.contains("List"));
+        Assert.assertTrue(scope.contains("T"));
+        Assert.assertFalse(base.contains("T"));
+        Assert.assertEquals(scope.size(), 3);
+        Assert.assertEquals(scope, Set.of("List", "value", "T"));
+        Assert.assertEquals(base, Set.of("List", "value"));
+    }
+
+    @Test(groups = "fast")
+    void scopesOfEmptyScopesShareTheSameParent() {
+        Symbols base = new Symbols(List.of("List"));
+        Symbols first = base.scope();
+        Symbols second = first.scope();
+        second.add("T");
+
+        Assert.assertEquals(second, Set.of("List", "T"));
+        Assert.assertEquals(first, Set.of("List"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> first.add("T"));
+    }
+
+    @Test(groups = "fast")
+    void frozenSymbolsCannotChange() {
+        Symbols base = new Symbols(List.of("List"));
+        base.scope();
+        Assert.assertThrows(UnsupportedOperationException.class, () -> base.add("T"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> Symbols.java().add("T"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> base.iterator().remove());
+
+        Symbols copy = Symbols.union(Symbols.java(), base);
+        Assert.assertTrue(copy.add("T"));
+        Assert.assertTrue(copy.contains("switch"));
+        Assert.assertFalse(base.contains("T"));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022-2023 The Billing Project, LLC
+ *
+ * The Billing Project licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.killbill.billing.tool.pojogen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.TreeSet;
+
+public class TestTemplates {
+
+    @Test(groups = "fast")
+    void namesCoverEveryTemplate() throws Exception {
+        File root = new File(Resources.class.getResource("/templates").toURI());
+        TreeSet<String> templates = new TreeSet<String>();
+        for (File file : FileUtils.listFiles(root, new String[] {"ftl"}, true)) {
+            templates.add(root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'));
+        }
+        // Templates missing from the list are neither warmed up nor part of the fingerprint of incremental runs
+        Assert.assertEquals(new TreeSet<String>(Templates.NAMES), templates);
+    }
+}
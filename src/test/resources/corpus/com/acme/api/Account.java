@@ -0,0 +1,17 @@
+package com.acme.api;
+import java.util.List;
+import java.util.Map;
+public interface Account extends Entity, Named<String> {
+    int getBillCycleDay();
+    long getBalance();
+    boolean isMigrated();
+    Boolean isNotified();
+    double[] getRates();
+    String[][] getTags();
+    List<String> getEmails();
+    Map<String, Integer> getCounters();
+    AccountStatus getStatus();
+    <X extends Comparable<X>> X compute(X a, int... rest) throws Exception;
+    void close(String reason);
+    char getInitial();
+}
@@ -0,0 +1,2 @@
+package com.acme.api;
+public enum AccountStatus { ACTIVE, CLOSED }
@@ -0,0 +1,8 @@
+package com.acme.api;
+import java.util.UUID;
+import java.math.BigDecimal;
+public interface Entity {
+    UUID getId();
+    BigDecimal getAmount();
+    java.util.Date getCreatedDate();
+}
@@ -0,0 +1,5 @@
+package com.acme.api;
+public interface Named<T> {
+    T getName();
+    void setName(T name);
+}
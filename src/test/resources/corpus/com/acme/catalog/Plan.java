@@ -0,0 +1,10 @@
+package com.acme.catalog;
+import com.acme.api.Entity;
+import com.acme.api.Named;
+public interface Plan extends Entity, Named<String> {
+    String getDescription();
+    byte[] getData();
+    Integer getTrialLength();
+    short getPriority();
+    float getRatio();
+}
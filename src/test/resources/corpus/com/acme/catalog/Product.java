@@ -0,0 +1,8 @@
+package com.acme.catalog;
+import java.util.Set;
+public interface Product extends Comparable<Product> {
+    Plan[] getPlans();
+    Set<String> getCategories();
+    boolean isAvailable();
+    void setAvailable(boolean available);
+}
@@ -0,0 +1,30 @@
+package com.acme.invoice;
+import com.acme.api.Entity;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+public interface Invoice extends Entity {
+    UUID getAccountId();
+    Integer getInvoiceNumber();
+    java.util.Date getInvoiceDate();
+    java.util.Date getTargetDate();
+    String getCurrency();
+    BigDecimal getPaidAmount();
+    BigDecimal getOriginalChargedAmount();
+    BigDecimal getChargedAmount();
+    BigDecimal getCreditedAmount();
+    BigDecimal getRefundedAmount();
+    BigDecimal getBalance();
+    boolean isMigrationInvoice();
+    boolean isParentInvoice();
+    UUID getParentInvoiceId();
+    UUID getParentAccountId();
+    List<InvoiceItem> getInvoiceItems();
+    List<String> getTrackingIds();
+    Map<String, String> getProperties();
+    int getNumberOfItems();
+    long[] getChecksums();
+    boolean addInvoiceItem(InvoiceItem item);
+    boolean addInvoiceItems(List<InvoiceItem> items);
+}
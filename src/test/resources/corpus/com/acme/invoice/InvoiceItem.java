@@ -0,0 +1,22 @@
+package com.acme.invoice;
+import com.acme.api.Entity;
+import java.math.BigDecimal;
+import java.util.UUID;
+public interface InvoiceItem extends Entity {
+    UUID getInvoiceId();
+    UUID getAccountId();
+    UUID getBundleId();
+    UUID getSubscriptionId();
+    UUID getLinkedItemId();
+    InvoiceItemType getInvoiceItemType();
+    String getPlanName();
+    String getPhaseName();
+    String getUsageName();
+    String getDescription();
+    BigDecimal getRate();
+    BigDecimal getQuantity();
+    String getCurrency();
+    java.util.Date getStartDate();
+    java.util.Date getEndDate();
+    boolean matches(Object other);
+}
@@ -0,0 +1,2 @@
+package com.acme.invoice;
+public enum InvoiceItemType { FIXED, RECURRING, USAGE, CREDIT, TAX }